@@ -5,7 +5,9 @@ import org.parsercombinators.parsers.Parsers;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collector;
 
 @FunctionalInterface
 public interface Parser<T> {
@@ -16,6 +18,10 @@ public interface Parser<T> {
         return Parsers.map(mapper, this);
     }
 
+    default Parser<Span<T>> withSpan() {
+        return Parsers.withSpan(this);
+    }
+
     default <U> Parser<U> before(Parser<U> other) {
         return Parsers.foldRight(this, other);
     }
@@ -64,10 +70,45 @@ public interface Parser<T> {
         return Parsers.many1(this);
     }
 
+    /**
+     * See {@link Parsers#manyFold}; {@code identity} must be immutable.
+     */
+    default <R> Parser<R> manyFold(final R identity, final BiFunction<R, ? super T, R> accumulator) {
+        return Parsers.manyFold(this, identity, accumulator);
+    }
+
+    default <A, R> Parser<R> manyInto(final Collector<? super T, A, R> collector) {
+        return Parsers.manyInto(this, collector);
+    }
+
+    default Parser<Long> count() {
+        return Parsers.count(this);
+    }
+
     default Parser<List<T>> nTimes(final int n) {
         return Parsers.nTimes(this, n);
     }
 
+    default Parser<List<T>> between(final int min, final int max) {
+        return Parsers.between(this, min, max);
+    }
+
+    default <U> Parser<List<T>> sepBy(Parser<U> separator) {
+        return Parsers.sepBy(this, separator);
+    }
+
+    default <U> Parser<List<T>> sepBy1(Parser<U> separator) {
+        return Parsers.sepBy1(this, separator);
+    }
+
+    default <U> Parser<List<T>> endBy(Parser<U> separator) {
+        return Parsers.endBy(this, separator);
+    }
+
+    default <U> Parser<List<T>> manyTill(Parser<U> end) {
+        return Parsers.manyTill(this, end);
+    }
+
     default <U> Parser<T> surroundedBy(Parser<U> other) {
         return Parsers.surrounding(this, other);
     }
@@ -0,0 +1,3 @@
+package org.parsercombinators.data;
+
+public record Position(int line, int column) { }
@@ -0,0 +1,23 @@
+package org.parsercombinators.data;
+
+/**
+ * A match together with where it was found.
+ *
+ * <p>Parsers only see the remaining suffix of their input, so the bounds are stored as the amount of input left
+ * before and after the match and resolved to absolute offsets against the original input on request.
+ */
+public record Span<T>(T match, int remainingBefore, int remainingAfter) {
+
+    public int start(final String input) {
+        return input.length() - remainingBefore;
+    }
+
+    public int end(final String input) {
+        return input.length() - remainingAfter;
+    }
+
+    public int length() {
+        return remainingBefore - remainingAfter;
+    }
+
+}
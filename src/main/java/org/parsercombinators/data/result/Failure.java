@@ -1,3 +1,9 @@
 package org.parsercombinators.data.result;
 
-public record Failure<T>(String message) implements Result<T> {}
+public record Failure<T>(String message, String remaining) implements Result<T> {
+
+    public int offset(final String input) {
+        return input.length() - remaining.length();
+    }
+
+}
@@ -0,0 +1,359 @@
+package org.parsercombinators.grammars;
+
+import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.result.Failure;
+import org.parsercombinators.data.result.Success;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * RFC 4180 delimited-record grammar.
+ *
+ * <p>The {@link Parser} entry points work on a whole {@code String} and copy each field. The streaming entry points
+ * read from a {@link Reader} through a fixed buffer and hand out a reused {@link Row} whose fields are views into that
+ * buffer, so memory use is bounded by the longest record rather than the size of the input.
+ */
+public class Csv {
+
+    private static final char DEFAULT_DELIMITER = ',';
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    public static Parser<List<String>> record() {
+        return record(DEFAULT_DELIMITER);
+    }
+
+    public static Parser<List<String>> record(final char delimiter) {
+        return input -> {
+            final Scanner scanner = new Scanner(input, delimiter);
+            try {
+                if (!scanner.next()) {
+                    return new Failure<>("Expected a CSV record but got empty input", input);
+                }
+                return new Success<>(scanner.row.toList(), input.substring(scanner.position));
+            } catch (CsvFormatException exception) {
+                return new Failure<>(exception.reason(), input.substring(scanner.position));
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+
+    public static Parser<List<List<String>>> records() {
+        return records(DEFAULT_DELIMITER);
+    }
+
+    public static Parser<List<List<String>>> records(final char delimiter) {
+        return input -> {
+            final Scanner scanner = new Scanner(input, delimiter);
+            final List<List<String>> rows = new ArrayList<>();
+            try {
+                while (scanner.next()) {
+                    rows.add(scanner.row.toList());
+                }
+            } catch (CsvFormatException exception) {
+                return new Failure<>(exception.reason(), input.substring(scanner.position));
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return new Success<>(Collections.unmodifiableList(rows), "");
+        };
+    }
+
+    /**
+     * Parses every record from {@code reader}, passing each to {@code callback}.
+     *
+     * <p>The {@link Row} is reused and only valid for the duration of the callback.
+     *
+     * @return the number of records read
+     * @throws IOException if reading fails
+     * @throws CsvFormatException if the input is not well-formed
+     */
+    public static long forEachRow(final Reader reader, final Consumer<Row> callback) throws IOException {
+        return forEachRow(reader, DEFAULT_DELIMITER, callback);
+    }
+
+    /**
+     * Parses every record from {@code reader} using {@code delimiter} between fields.
+     *
+     * @return the number of records read
+     * @throws IOException if reading fails
+     * @throws CsvFormatException if the input is not well-formed
+     */
+    public static long forEachRow(final Reader reader, final char delimiter, final Consumer<Row> callback) throws IOException {
+        return forEachRow(reader, delimiter, DEFAULT_BUFFER_SIZE, callback);
+    }
+
+    static long forEachRow(
+        final Reader reader,
+        final char delimiter,
+        final int bufferSize,
+        final Consumer<Row> callback
+    ) throws IOException {
+        final Scanner scanner = new Scanner(reader, delimiter, bufferSize);
+        long count = 0;
+        while (scanner.next()) {
+            callback.accept(scanner.row);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Lazily parses records from {@code reader}.
+     *
+     * <p>Each {@link Row} is only valid until the stream advances; use {@link Row#toList()} to keep one. Read errors
+     * surface as {@link UncheckedIOException} and malformed input as {@link CsvFormatException}. Closing the stream does
+     * not close {@code reader}.
+     */
+    public static Stream<Row> rows(final Reader reader) {
+        return rows(reader, DEFAULT_DELIMITER);
+    }
+
+    public static Stream<Row> rows(final Reader reader, final char delimiter) {
+        final Scanner scanner = new Scanner(reader, delimiter, DEFAULT_BUFFER_SIZE);
+        final Spliterator<Row> spliterator = new Spliterators.AbstractSpliterator<>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL
+        ) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super Row> action) {
+                try {
+                    if (!scanner.next()) {
+                        return false;
+                    }
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                action.accept(scanner.row);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * A single record whose fields are views into the scanner's buffer.
+     */
+    public static final class Row {
+
+        private char[] buffer;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int size;
+
+        private Row() {
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CharSequence field(final int index) {
+            checkIndex(index);
+            return CharBuffer.wrap(buffer, starts[index], ends[index] - starts[index]);
+        }
+
+        public String get(final int index) {
+            checkIndex(index);
+            return new String(buffer, starts[index], ends[index] - starts[index]);
+        }
+
+        public List<String> toList() {
+            final String[] fields = new String[size];
+            for (int i = 0; i < size; i++) {
+                fields[i] = new String(buffer, starts[i], ends[i] - starts[i]);
+            }
+            return Collections.unmodifiableList(Arrays.asList(fields));
+        }
+
+        @Override
+        public String toString() {
+            return toList().toString();
+        }
+
+        private void checkIndex(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Field " + index + " out of bounds for row of " + size + " fields");
+            }
+        }
+
+        private void add(final int start, final int end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+    }
+
+    private static final class Scanner {
+
+        private static final int INCOMPLETE = -1;
+
+        private final Reader source;
+        private final char delimiter;
+        private final Row row = new Row();
+        private char[] buffer;
+        private int limit;
+        private int position;
+        private long discarded;
+        private long records;
+        private boolean eof;
+        private boolean[] escaped = new boolean[16];
+
+        Scanner(final String input, final char delimiter) {
+            this.source = null;
+            this.delimiter = delimiter;
+            this.buffer = input.toCharArray();
+            this.limit = buffer.length;
+            this.eof = true;
+        }
+
+        Scanner(final Reader source, final char delimiter, final int bufferSize) {
+            this.source = source;
+            this.delimiter = delimiter;
+            this.buffer = new char[bufferSize];
+        }
+
+        boolean next() throws IOException {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            int end = scanRecord();
+            while (end == INCOMPLETE) {
+                fill();
+                end = scanRecord();
+            }
+            unescape();
+            row.buffer = buffer;
+            position = end;
+            records++;
+            return true;
+        }
+
+        private int scanRecord() {
+            row.size = 0;
+            int cursor = position;
+            while (true) {
+                final int fieldStart = cursor;
+                if (cursor < limit && buffer[cursor] == '"') {
+                    cursor++;
+                    boolean hasEscapes = false;
+                    while (true) {
+                        if (cursor == limit) {
+                            if (eof) {
+                                throw malformed(cursor, "Expected '\"' but got empty input");
+                            }
+                            return INCOMPLETE;
+                        }
+                        if (buffer[cursor] == '"') {
+                            if (cursor + 1 == limit && !eof) {
+                                return INCOMPLETE;
+                            }
+                            if (cursor + 1 < limit && buffer[cursor + 1] == '"') {
+                                hasEscapes = true;
+                                cursor += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        cursor++;
+                    }
+                    addField(fieldStart + 1, cursor, hasEscapes);
+                    cursor++;
+                } else {
+                    while (cursor < limit && buffer[cursor] != delimiter && buffer[cursor] != '\n' && buffer[cursor] != '\r') {
+                        cursor++;
+                    }
+                    if (cursor == limit && !eof) {
+                        return INCOMPLETE;
+                    }
+                    addField(fieldStart, cursor, false);
+                }
+
+                if (cursor == limit) {
+                    return cursor;
+                }
+                final char c = buffer[cursor];
+                if (c == delimiter) {
+                    cursor++;
+                } else if (c == '\n') {
+                    return cursor + 1;
+                } else if (c == '\r') {
+                    if (cursor + 1 == limit && !eof) {
+                        return INCOMPLETE;
+                    }
+                    return cursor + 1 < limit && buffer[cursor + 1] == '\n' ? cursor + 2 : cursor + 1;
+                } else {
+                    throw malformed(cursor, "Expected '" + delimiter + "' or end of line but got '" + c + "'");
+                }
+            }
+        }
+
+        private CsvFormatException malformed(final int at, final String reason) {
+            position = at;
+            return new CsvFormatException(reason, records + 1, discarded + at);
+        }
+
+        private void addField(final int start, final int end, final boolean hasEscapes) {
+            if (row.size == escaped.length) {
+                escaped = Arrays.copyOf(escaped, row.size * 2);
+            }
+            escaped[row.size] = hasEscapes;
+            row.add(start, end);
+        }
+
+        private void unescape() {
+            for (int i = 0; i < row.size; i++) {
+                if (escaped[i]) {
+                    int write = row.starts[i];
+                    for (int read = row.starts[i]; read < row.ends[i]; read++) {
+                        buffer[write++] = buffer[read];
+                        if (buffer[read] == '"') {
+                            read++;
+                        }
+                    }
+                    row.ends[i] = write;
+                }
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+            final int pending = limit - position;
+            if (pending == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            } else if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, pending);
+            }
+            discarded += position;
+            position = 0;
+            limit = pending;
+            final int read = source.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+            return limit > 0;
+        }
+
+    }
+
+}
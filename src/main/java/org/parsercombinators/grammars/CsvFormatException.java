@@ -0,0 +1,36 @@
+package org.parsercombinators.grammars;
+
+/**
+ * Thrown by the streaming {@link Csv} entry points when the input is not well-formed.
+ *
+ * <p>Unchecked so that {@link Csv#rows} can surface it directly, where read errors arrive as
+ * {@link java.io.UncheckedIOException} instead.
+ */
+public class CsvFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+    private final long record;
+    private final long offset;
+
+    public CsvFormatException(final String reason, final long record, final long offset) {
+        super(reason + " at record " + record + ", offset " + offset);
+        this.reason = reason;
+        this.record = record;
+        this.offset = offset;
+    }
+
+    public String reason() {
+        return reason;
+    }
+
+    public long record() {
+        return record;
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+}
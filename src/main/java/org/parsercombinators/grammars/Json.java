@@ -0,0 +1,437 @@
+package org.parsercombinators.grammars;
+
+import org.parsercombinators.data.Pair;
+import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.result.Failure;
+import org.parsercombinators.data.result.Result;
+import org.parsercombinators.data.result.Success;
+import org.parsercombinators.parsers.Parsers;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.parsercombinators.parsers.Parsers.anyCharacterFrom;
+import static org.parsercombinators.parsers.Parsers.anyOf;
+import static org.parsercombinators.parsers.Parsers.character;
+import static org.parsercombinators.parsers.Parsers.concat;
+import static org.parsercombinators.parsers.Parsers.count;
+import static org.parsercombinators.parsers.Parsers.foldLeft;
+import static org.parsercombinators.parsers.Parsers.foldRight;
+import static org.parsercombinators.parsers.Parsers.map;
+import static org.parsercombinators.parsers.Parsers.noMoreInput;
+import static org.parsercombinators.parsers.Parsers.pure;
+import static org.parsercombinators.parsers.Parsers.sepBy;
+import static org.parsercombinators.parsers.Parsers.surrounding;
+
+/**
+ * JSON grammar which maps documents onto plain Java values.
+ *
+ * <p>Objects become unmodifiable {@link Map}s preserving key order, arrays become unmodifiable {@link List}s, numbers
+ * become {@link Long}, {@link BigInteger} or {@link Double}, and {@code null} is represented by {@code null}.
+ *
+ * <p>{@link #combinatorValue()} is the grammar written with the library's own combinators: {@code sepBy},
+ * {@code surrounding} and {@code count} over {@link #string()} and {@link #number()}, which are tuned leaf primitives
+ * that scan their token directly instead of matching character by character. {@link #value()} accepts the same
+ * language and builds the same values with a hand-written scanner, and is the performance target the combinator
+ * grammar is measured against: composing combinators slices a new {@code remaining} suffix per token, which is
+ * quadratic in document size. Rather than exhaust the stack, the scanner fails on nesting deeper than
+ * {@value #MAX_DEPTH} levels and the combinator grammar, which spends dozens of stack frames per level, on nesting
+ * deeper than {@value #MAX_COMBINATOR_DEPTH}.
+ */
+public class Json {
+
+    private static final int LONG_SAFE_DIGITS = 18;
+    private static final int MAX_DEPTH = 1000;
+    private static final int MAX_COMBINATOR_DEPTH = 64;
+    private static final ThreadLocal<int[]> COMBINATOR_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Parser<Object> COMBINATOR_VALUE = newCombinatorValue();
+
+    public static Parser<Object> value() {
+        return input -> new Scanner(input).run(scanner -> {
+            scanner.skipWhitespace();
+            final Object value = scanner.readValue();
+            scanner.skipWhitespace();
+            return value;
+        });
+    }
+
+    public static Parser<Object> document() {
+        return foldLeft(value(), noMoreInput());
+    }
+
+    public static Parser<String> string() {
+        return input -> new Scanner(input).run(Scanner::readString);
+    }
+
+    public static Parser<Number> number() {
+        return input -> new Scanner(input).run(Scanner::readNumber);
+    }
+
+    public static Parser<Object> combinatorValue() {
+        return COMBINATOR_VALUE;
+    }
+
+    public static Parser<Object> combinatorDocument() {
+        return foldLeft(combinatorValue(), noMoreInput());
+    }
+
+    private static Parser<Object> newCombinatorValue() {
+        final Parser<Object> recursiveValue = input -> COMBINATOR_VALUE.parse(input);
+        final Parser<Long> whitespace = count(anyCharacterFrom(List.of(' ', '\n', '\r', '\t')));
+        final Parser<Character> comma = surrounding(character(','), whitespace);
+
+        final Parser<List<Object>> array = surrounding(
+            sepBy(recursiveValue, comma),
+            surrounding(character('['), whitespace),
+            character(']')
+        );
+        final Parser<Pair<String, Object>> member = concat(
+            foldLeft(string(), surrounding(character(':'), whitespace)),
+            recursiveValue
+        );
+        final Parser<Map<String, Object>> object = surrounding(
+            map(Json::toMap, sepBy(member, comma)),
+            surrounding(character('{'), whitespace),
+            character('}')
+        );
+
+        return surrounding(anyOf(List.of(
+            nested(map(Object.class::cast, object)),
+            nested(map(Object.class::cast, array)),
+            map(Object.class::cast, string()),
+            map(Object.class::cast, number()),
+            map(ignored -> Boolean.TRUE, Parsers.string("true")),
+            map(ignored -> Boolean.FALSE, Parsers.string("false")),
+            foldRight(Parsers.string("null"), pure(null))
+        )), whitespace);
+    }
+
+    private static <T> Parser<T> nested(final Parser<T> container) {
+        return input -> {
+            final int[] depth = COMBINATOR_DEPTH.get();
+            if (depth[0] >= MAX_COMBINATOR_DEPTH) {
+                return new Failure<>(tooDeep(MAX_COMBINATOR_DEPTH), input);
+            }
+            depth[0]++;
+            try {
+                return container.parse(input);
+            } finally {
+                depth[0]--;
+            }
+        };
+    }
+
+    private static String tooDeep(final int maximum) {
+        return "Expected nesting depth of at most " + maximum + " but got deeper";
+    }
+
+    private static Map<String, Object> toMap(final List<Pair<String, Object>> members) {
+        final Map<String, Object> out = LinkedHashMap.newLinkedHashMap(members.size());
+        members.forEach(member -> out.put(member.left(), member.right()));
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static final class JsonSyntaxException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        JsonSyntaxException(final String message) {
+            super(message, null, false, false);
+        }
+
+    }
+
+    private static final class Scanner {
+
+        private final String input;
+        private final int length;
+        private int position;
+        private int depth;
+        private StringBuilder buffer;
+        private Object[] scratch;
+        private int scratchSize;
+
+        Scanner(final String input) {
+            this.input = input;
+            this.length = input.length();
+        }
+
+        <T> Result<T> run(final Function<Scanner, T> production) {
+            try {
+                final T match = production.apply(this);
+                return new Success<>(match, input.substring(position));
+            } catch (JsonSyntaxException exception) {
+                return new Failure<>(exception.getMessage(), input.substring(position));
+            }
+        }
+
+        Object readValue() {
+            if (position >= length) {
+                throw new JsonSyntaxException("Expected a JSON value but got empty input");
+            }
+            return switch (input.charAt(position)) {
+                case '{' -> readObject();
+                case '[' -> readArray();
+                case '"' -> readString();
+                case 't' -> readLiteral("true", Boolean.TRUE);
+                case 'f' -> readLiteral("false", Boolean.FALSE);
+                case 'n' -> readLiteral("null", null);
+                default -> readNumber();
+            };
+        }
+
+        Map<String, Object> readObject() {
+            enterContainer();
+            expect('{');
+            final int base = scratchSize;
+            skipWhitespace();
+            if (peek() != '}') {
+                boolean more = true;
+                while (more) {
+                    skipWhitespace();
+                    push(readString());
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    push(readValue());
+                    skipWhitespace();
+                    more = consume(',');
+                }
+            }
+            expect('}');
+            depth--;
+
+            final Map<String, Object> members = LinkedHashMap.newLinkedHashMap((scratchSize - base) / 2);
+            for (int i = base; i < scratchSize; i += 2) {
+                members.put((String) scratch[i], scratch[i + 1]);
+            }
+            popTo(base);
+            return Collections.unmodifiableMap(members);
+        }
+
+        List<Object> readArray() {
+            enterContainer();
+            expect('[');
+            final int base = scratchSize;
+            skipWhitespace();
+            if (peek() != ']') {
+                boolean more = true;
+                while (more) {
+                    skipWhitespace();
+                    push(readValue());
+                    skipWhitespace();
+                    more = consume(',');
+                }
+            }
+            expect(']');
+            depth--;
+
+            final List<Object> elements = scratchSize == base
+                ? List.of()
+                : Arrays.asList(Arrays.copyOfRange(scratch, base, scratchSize));
+            popTo(base);
+            return Collections.unmodifiableList(elements);
+        }
+
+        String readString() {
+            expect('"');
+            int runStart = position;
+            StringBuilder builder = null;
+            while (position < length) {
+                final char c = input.charAt(position);
+                if (c == '"') {
+                    final String tail = input.substring(runStart, position++);
+                    if (builder == null) {
+                        return tail;
+                    }
+                    return builder.append(tail).toString();
+                }
+                if (c == '\\') {
+                    if (builder == null) {
+                        builder = emptyBuffer();
+                    }
+                    builder.append(input, runStart, position++);
+                    builder.append(readEscape());
+                    runStart = position;
+                } else if (c < 0x20) {
+                    throw new JsonSyntaxException("Expected a string character but got control character " + (int) c);
+                } else {
+                    position++;
+                }
+            }
+            throw new JsonSyntaxException("Expected '\"' but got empty input");
+        }
+
+        Number readNumber() {
+            final int start = position;
+            final boolean negative = consume('-');
+            final int digitsStart = position;
+            if (peek() == '0') {
+                position++;
+            } else if (isDigit(peek())) {
+                skipDigits();
+            } else {
+                throw unexpected("a JSON value");
+            }
+            final int digits = position - digitsStart;
+            boolean integral = true;
+            if (peek() == '.') {
+                position++;
+                requireDigits();
+                integral = false;
+            }
+            if (peek() == 'e' || peek() == 'E') {
+                position++;
+                if (peek() == '+' || peek() == '-') {
+                    position++;
+                }
+                requireDigits();
+                integral = false;
+            }
+
+            if (!integral) {
+                return Double.parseDouble(input.substring(start, position));
+            }
+            if (digits > LONG_SAFE_DIGITS) {
+                final BigInteger big = new BigInteger(input.substring(start, position));
+                return big.bitLength() < Long.SIZE ? (Number) big.longValue() : big;
+            }
+            long value = 0;
+            for (int i = digitsStart; i < position; i++) {
+                value = value * 10 + (input.charAt(i) - '0');
+            }
+            return negative ? -value : value;
+        }
+
+        void skipWhitespace() {
+            while (position < length) {
+                final char c = input.charAt(position);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private void enterContainer() {
+            if (++depth > MAX_DEPTH) {
+                throw new JsonSyntaxException(tooDeep(MAX_DEPTH));
+            }
+        }
+
+        private void push(final Object value) {
+            if (scratch == null) {
+                scratch = new Object[32];
+            } else if (scratchSize == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratchSize * 2);
+            }
+            scratch[scratchSize++] = value;
+        }
+
+        private void popTo(final int base) {
+            if (scratchSize == base) {
+                return;
+            }
+            Arrays.fill(scratch, base, scratchSize, null);
+            scratchSize = base;
+        }
+
+        private Object readLiteral(final String literal, final Object value) {
+            if (!input.startsWith(literal, position)) {
+                throw unexpected("\"" + literal + "\"");
+            }
+            position += literal.length();
+            return value;
+        }
+
+        private char readEscape() {
+            if (position >= length) {
+                throw new JsonSyntaxException("Expected an escape sequence but got empty input");
+            }
+            final char escaped = input.charAt(position++);
+            return switch (escaped) {
+                case '"', '\\', '/' -> escaped;
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'u' -> readUnicodeEscape();
+                default -> throw new JsonSyntaxException("Expected an escape sequence but got '\\" + escaped + "'");
+            };
+        }
+
+        private char readUnicodeEscape() {
+            if (position + 4 > length) {
+                throw new JsonSyntaxException("Expected 4 hex digits but got empty input");
+            }
+            int code = 0;
+            for (int i = 0; i < 4; i++) {
+                final int digit = Character.digit(input.charAt(position), 16);
+                if (digit < 0) {
+                    throw unexpected("a hex digit");
+                }
+                code = (code << 4) | digit;
+                position++;
+            }
+            return (char) code;
+        }
+
+        private StringBuilder emptyBuffer() {
+            if (buffer == null) {
+                buffer = new StringBuilder();
+            }
+            buffer.setLength(0);
+            return buffer;
+        }
+
+        private void skipDigits() {
+            while (isDigit(peek())) {
+                position++;
+            }
+        }
+
+        private void requireDigits() {
+            if (!isDigit(peek())) {
+                throw unexpected("a digit");
+            }
+            skipDigits();
+        }
+
+        private static boolean isDigit(final int c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private int peek() {
+            return position < length ? input.charAt(position) : -1;
+        }
+
+        private boolean consume(final char expected) {
+            if (peek() == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(final char expected) {
+            if (!consume(expected)) {
+                throw unexpected("'" + expected + "'");
+            }
+        }
+
+        private JsonSyntaxException unexpected(final String expected) {
+            if (position >= length) {
+                return new JsonSyntaxException("Expected " + expected + " but got empty input");
+            }
+            return new JsonSyntaxException("Expected " + expected + " but got '" + input.charAt(position) + "'");
+        }
+
+    }
+
+}
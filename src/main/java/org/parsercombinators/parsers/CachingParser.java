@@ -0,0 +1,113 @@
+package org.parsercombinators.parsers;
+
+import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.result.Result;
+import org.parsercombinators.utils.BoundedCache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Wraps a parser with a bounded least-recently-used cache of its results, keyed by the full input.
+ *
+ * <p>The wrapped parser must be deterministic, since a cached {@link Result} is returned as-is for any later input
+ * with the same content. The same {@code Result} instance is handed to every caller, on any thread, so its match must
+ * be immutable: do not wrap parsers producing mutable containers (such as those built with {@code manyInto}), or copy
+ * the match before modifying it. Inputs longer than {@code maximumInputLength} bypass the cache entirely.
+ *
+ * <p>Any input weighing up to {@code maximumWeight} can be cached; heavier inputs are parsed and counted as misses
+ * but never cached. Entries live in a {@link BoundedCache}. Caches built by {@link #bySize} or
+ * {@link #byInputLength} are split into segments where every segment still fits the heaviest admissible input, so
+ * lookups lock only one segment and eviction order is approximate for large caches.
+ */
+public class CachingParser<T> implements Parser<T> {
+
+    private final Parser<T> parser;
+    private final int maximumInputLength;
+    private final BoundedCache<String, Result<T>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache holding results whose inputs weigh at most {@code maximumWeight} in total.
+     *
+     * <p>{@code weigher} must return a non-negative weight; otherwise {@link #parse} throws
+     * {@link IllegalArgumentException} when caching that input. Since the weigher is arbitrary, the cache is a single
+     * segment so that every input up to {@code maximumWeight} can be admitted.
+     */
+    public CachingParser(
+        final Parser<T> parser,
+        final long maximumWeight,
+        final ToLongFunction<String> weigher,
+        final int maximumInputLength
+    ) {
+        this(parser, maximumWeight, weigher, maximumInputLength, maximumWeight);
+    }
+
+    private CachingParser(
+        final Parser<T> parser,
+        final long maximumWeight,
+        final ToLongFunction<String> weigher,
+        final int maximumInputLength,
+        final long maximumEntryWeight
+    ) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("CachingParser called with non-positive maximum weight " + maximumWeight);
+        }
+        if (maximumInputLength < 0) {
+            throw new IllegalArgumentException("CachingParser called with negative maximum input length " + maximumInputLength);
+        }
+        this.parser = parser;
+        this.maximumInputLength = maximumInputLength;
+        this.entries = new BoundedCache<>(maximumWeight, weigher, maximumEntryWeight);
+    }
+
+    public static <T> CachingParser<T> bySize(final Parser<T> parser, final long maximumSize) {
+        return bySize(parser, maximumSize, Integer.MAX_VALUE);
+    }
+
+    public static <T> CachingParser<T> bySize(final Parser<T> parser, final long maximumSize, final int maximumInputLength) {
+        return new CachingParser<>(parser, maximumSize, ignored -> 1, maximumInputLength, 1);
+    }
+
+    public static <T> CachingParser<T> byInputLength(final Parser<T> parser, final long maximumCharacters) {
+        return byInputLength(parser, maximumCharacters, Integer.MAX_VALUE);
+    }
+
+    public static <T> CachingParser<T> byInputLength(
+        final Parser<T> parser,
+        final long maximumCharacters,
+        final int maximumInputLength
+    ) {
+        final long maximumEntryWeight = Math.max(1, Math.min(maximumCharacters, maximumInputLength));
+        return new CachingParser<>(parser, maximumCharacters, String::length, maximumInputLength, maximumEntryWeight);
+    }
+
+    @Override
+    public Result<T> parse(final String input) {
+        if (input.length() > maximumInputLength) {
+            return parser.parse(input);
+        }
+        final Result<T> cached = entries.get(input);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return entries.putIfAbsent(input, parser.parse(input));
+    }
+
+    /**
+     * Returns the counters and current occupancy; under concurrent use the fields are not a single atomic snapshot.
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), entries.evictionCount(), entries.size(), entries.weight());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size, long weight) {}
+
+}
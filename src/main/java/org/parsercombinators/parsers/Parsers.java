@@ -2,26 +2,59 @@ package org.parsercombinators.parsers;
 
 import org.parsercombinators.data.Pair;
 import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.Span;
 import org.parsercombinators.data.result.Failure;
 import org.parsercombinators.data.result.Result;
 import org.parsercombinators.data.result.Success;
+import org.parsercombinators.utils.BoundedCache;
 import org.parsercombinators.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyList;
-import static java.util.Collections.nCopies;
+import static java.util.Collections.unmodifiableList;
 
 public class Parsers {
 
+    private static final long STRING_CACHE_WEIGHT = 16 * 1024;
+    private static final long CHARACTER_CLASS_CACHE_WEIGHT = 4 * 1024;
+    private static final int MAX_CACHED_KEY_LENGTH = 64;
+    private static final int CACHED_CHARACTER_RANGE = 128;
+    private static final List<Character> NUMERALS = List.of('0', '1', '2', '3', '4', '5', '6', '7', '8', '9');
+
+    private static final List<Parser<Character>> CHARACTERS = IntStream.range(0, CACHED_CHARACTER_RANGE)
+        .mapToObj(c -> newCharacter((char) c))
+        .toList();
+    private static final List<Parser<Character>> NOT_CHARACTERS = IntStream.range(0, CACHED_CHARACTER_RANGE)
+        .mapToObj(c -> newNotCharacter((char) c))
+        .toList();
+    private static final BoundedCache<String, Parser<String>> STRINGS = new BoundedCache<>(
+        STRING_CACHE_WEIGHT, string -> string.length() + 1, MAX_CACHED_KEY_LENGTH + 1
+    );
+    private static final BoundedCache<String, Parser<Character>> CHARACTER_CLASSES = new BoundedCache<>(
+        CHARACTER_CLASS_CACHE_WEIGHT, characters -> characters.length() + 1, MAX_CACHED_KEY_LENGTH + 1
+    );
+
+    private static final Parser<Character> WHITESPACE_CHARACTER = characterSatisfies(Character::isWhitespace,
+        c -> "Expected a whitespace character but got '" + c + "'",
+        () -> "Expected a whitespace character but got empty input"
+    );
+    private static final Parser<Integer> ANY_INTEGER = newAnyInteger();
+    private static final Parser<String> NO_MORE_INPUT = input -> switch (input) {
+        case "" -> new Success<>("", input);
+        default -> new Failure<>("Expected end of string but was non-empty", input);
+    };
+
     public static <T> Parser<T> pure(final T value) {
         return input -> new Success<>(value, input);
     }
@@ -33,14 +66,24 @@ public class Parsers {
     public static <T, U> Parser<U> bind(final Function<T, Parser<U>> function, final Parser<T> parser) {
         return input -> switch (parser.parse(input)) {
             case Success<T> success -> function.apply(success.match()).parse(success.remaining());
-            case Failure<T> failure -> new Failure<>(failure.message());
+            case Failure<T> failure -> new Failure<>(failure.message(), failure.remaining());
         };
     }
 
     public static <T, U> Parser<U> map(final Function<T, U> function, final Parser<T> parser) {
         return input -> switch (parser.parse(input)) {
             case Success<T> success -> new Success<>(function.apply(success.match()), success.remaining());
-            case Failure<T> failure -> new Failure<>(failure.message());
+            case Failure<T> failure -> new Failure<>(failure.message(), failure.remaining());
+        };
+    }
+
+    public static <T> Parser<Span<T>> withSpan(final Parser<T> parser) {
+        return input -> switch (parser.parse(input)) {
+            case Success<T> success -> new Success<>(
+                new Span<>(success.match(), input.length(), success.remaining().length()),
+                success.remaining()
+            );
+            case Failure<T> failure -> new Failure<>(failure.message(), failure.remaining());
         };
     }
 
@@ -55,7 +98,7 @@ public class Parsers {
     public static <T, U> Parser<U> foldRight(final Parser<T> parserLeft, final Parser<U> parserRight) {
         return input -> switch (parserLeft.parse(input)) {
             case Success<T> success -> parserRight.parse(success.remaining());
-            case Failure<T> failure -> new Failure<>(failure.message());
+            case Failure<T> failure -> new Failure<>(failure.message(), failure.remaining());
         };
     }
 
@@ -63,9 +106,9 @@ public class Parsers {
         return input -> switch (parserLeft.parse(input)) {
             case Success<T> successLeft -> switch (parserRight.parse(successLeft.remaining())) {
                 case Success<U> successRight -> new Success<>(successLeft.match(), successRight.remaining());
-                case Failure<U> failureRight -> new Failure<>(failureRight.message());
+                case Failure<U> failureRight -> new Failure<>(failureRight.message(), failureRight.remaining());
             };
-            case Failure<T> failureLeft -> new Failure<>(failureLeft.message());
+            case Failure<T> failureLeft -> new Failure<>(failureLeft.message(), failureLeft.remaining());
         };
     }
 
@@ -73,9 +116,9 @@ public class Parsers {
         return input -> switch (parserLeft.parse(input)) {
             case Success<T> successLeft -> switch (parserRight.parse(successLeft.remaining())) {
                 case Success<U> successRight -> new Success<>(new Pair<>(successLeft.match(), successRight.match()), successRight.remaining());
-                case Failure<U> failureRight -> new Failure<>(failureRight.message());
+                case Failure<U> failureRight -> new Failure<>(failureRight.message(), failureRight.remaining());
             };
-            case Failure<T> failureLeft -> new Failure<>(failureLeft.message());
+            case Failure<T> failureLeft -> new Failure<>(failureLeft.message(), failureLeft.remaining());
         };
     }
 
@@ -98,7 +141,7 @@ public class Parsers {
         final Function<T, String> failureMessageMapper
     ) {
         return input -> switch (parser.parse(input)) {
-            case Success<T> success -> new Failure<>(failureMessageMapper.apply(success.match()));
+            case Success<T> success -> new Failure<>(failureMessageMapper.apply(success.match()), input);
             case Failure<T> ignored -> new Success<>(null, input);
         };
     }
@@ -109,12 +152,12 @@ public class Parsers {
 
     public static <T> Parser<T> anyOf(final List<Parser<T>> parsers) {
         return parsers.stream()
-            .reduce(input -> new Failure<>("anyOf called with empty list of parsers"), Parsers::or);
+            .reduce(input -> new Failure<>("anyOf called with empty list of parsers", input), Parsers::or);
     }
 
     public static <T> Parser<List<T>> transpose(final List<Parser<T>> parsers) {
         return input -> {
-            final List<T> out = new ArrayList<>();
+            final List<T> out = new ArrayList<>(parsers.size());
             String remaining = input;
             for (Parser<T> parser : parsers) {
                 final Result<T> result = parser.parse(remaining);
@@ -123,10 +166,10 @@ public class Parsers {
                     remaining = success.remaining();
                 } else {
                     final Failure<T> failure = (Failure<T>) result;
-                    return new Failure<>(failure.message());
+                    return new Failure<>(failure.message(), failure.remaining());
                 }
             }
-            return new Success<>(out.stream().toList(), remaining);
+            return new Success<>(unmodifiableList(out), remaining);
         };
     }
 
@@ -140,12 +183,155 @@ public class Parsers {
     public static <T> Parser<List<T>> many1(final Parser<T> parser) {
         return input -> switch (parser.parse(input)) {
             case Success<T> success -> parseZeroOrMore(parser, success);
-            case Failure<T> failure -> new Failure<>(failure.message());
+            case Failure<T> failure -> new Failure<>(failure.message(), failure.remaining());
+        };
+    }
+
+    /**
+     * Folds every repetition of {@code parser} into a single value without collecting a list.
+     *
+     * <p>As with {@link java.util.stream.Stream#reduce}, the same {@code identity} instance starts every parse, so it
+     * must be immutable and {@code accumulator} must return a new value rather than mutate its argument. Use
+     * {@link #manyInto(Parser, Collector)} to accumulate into a mutable container, which is created fresh per parse.
+     */
+    public static <T, R> Parser<R> manyFold(
+        final Parser<T> parser,
+        final R identity,
+        final BiFunction<R, ? super T, R> accumulator
+    ) {
+        return input -> {
+            R folded = identity;
+            String remaining = input;
+            while (parser.parse(remaining) instanceof Success<T> success
+                && success.remaining().length() < remaining.length()) {
+                folded = accumulator.apply(folded, success.match());
+                remaining = success.remaining();
+            }
+            return new Success<>(folded, remaining);
+        };
+    }
+
+    public static <T, A, R> Parser<R> manyInto(final Parser<T> parser, final Collector<? super T, A, R> collector) {
+        final Supplier<A> supplier = collector.supplier();
+        final BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        final Function<A, R> finisher = collector.finisher();
+        return input -> {
+            final A container = supplier.get();
+            String remaining = input;
+            while (parser.parse(remaining) instanceof Success<T> success
+                && success.remaining().length() < remaining.length()) {
+                accumulator.accept(container, success.match());
+                remaining = success.remaining();
+            }
+            return new Success<>(finisher.apply(container), remaining);
+        };
+    }
+
+    public static <T> Parser<Long> count(final Parser<T> parser) {
+        return input -> {
+            long count = 0;
+            String remaining = input;
+            while (parser.parse(remaining) instanceof Success<T> success
+                && success.remaining().length() < remaining.length()) {
+                count++;
+                remaining = success.remaining();
+            }
+            return new Success<>(count, remaining);
         };
     }
 
     public static <T> Parser<List<T>> nTimes(final Parser<T> parser, final int n) {
-        return transpose(nCopies(n, parser));
+        if (n < 0) {
+            throw new IllegalArgumentException("nTimes called with negative count " + n);
+        }
+        return input -> {
+            final List<T> out = new ArrayList<>(Math.min(n, input.length() + 1));
+            String remaining = input;
+            for (int i = 0; i < n; i++) {
+                final Result<T> result = parser.parse(remaining);
+                if (result instanceof Success<T> success) {
+                    out.add(success.match());
+                    remaining = success.remaining();
+                } else {
+                    final Failure<T> failure = (Failure<T>) result;
+                    return new Failure<>(failure.message(), failure.remaining());
+                }
+            }
+            return new Success<>(unmodifiableList(out), remaining);
+        };
+    }
+
+    public static <T> Parser<List<T>> between(final Parser<T> parser, final int min, final int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("between called with invalid bounds [" + min + ", " + max + "]");
+        }
+        return input -> {
+            final List<T> out = new ArrayList<>(Math.min(min, input.length() + 1));
+            String remaining = input;
+            while (out.size() < max) {
+                final Result<T> result = parser.parse(remaining);
+                if (result instanceof Success<T> success
+                    && (out.size() < min || success.remaining().length() < remaining.length())) {
+                    out.add(success.match());
+                    remaining = success.remaining();
+                } else if (out.size() < min) {
+                    final Failure<T> failure = (Failure<T>) result;
+                    return new Failure<>(failure.message(), failure.remaining());
+                } else {
+                    break;
+                }
+            }
+            return new Success<>(unmodifiableList(out), remaining);
+        };
+    }
+
+    public static <T, U> Parser<List<T>> sepBy(final Parser<T> parser, final Parser<U> separator) {
+        return input -> switch (parser.parse(input)) {
+            case Success<T> success -> parseSeparated(parser, separator, success);
+            case Failure<T> ignored -> new Success<>(emptyList(), input);
+        };
+    }
+
+    public static <T, U> Parser<List<T>> sepBy1(final Parser<T> parser, final Parser<U> separator) {
+        return input -> switch (parser.parse(input)) {
+            case Success<T> success -> parseSeparated(parser, separator, success);
+            case Failure<T> failure -> new Failure<>(failure.message(), failure.remaining());
+        };
+    }
+
+    public static <T, U> Parser<List<T>> endBy(final Parser<T> parser, final Parser<U> separator) {
+        return input -> {
+            final List<T> out = new ArrayList<>();
+            String remaining = input;
+            while (parser.parse(remaining) instanceof Success<T> success
+                && separator.parse(success.remaining()) instanceof Success<U> separatorSuccess
+                && separatorSuccess.remaining().length() < remaining.length()) {
+                out.add(success.match());
+                remaining = separatorSuccess.remaining();
+            }
+            return new Success<>(unmodifiableList(out), remaining);
+        };
+    }
+
+    public static <T, U> Parser<List<T>> manyTill(final Parser<T> parser, final Parser<U> end) {
+        return input -> {
+            final List<T> out = new ArrayList<>();
+            String remaining = input;
+            while (!(end.parse(remaining) instanceof Success<U> endSuccess)) {
+                final Result<T> result = parser.parse(remaining);
+                if (result instanceof Success<T> success) {
+                    if (success.remaining().length() == remaining.length()) {
+                        return new Failure<>("manyTill parser succeeded without consuming input", remaining);
+                    }
+                    out.add(success.match());
+                    remaining = success.remaining();
+                } else {
+                    final Failure<T> failure = (Failure<T>) result;
+                    return new Failure<>(failure.message(), failure.remaining());
+                }
+            }
+            return new Success<>(unmodifiableList(out), endSuccess.remaining());
+        };
     }
 
     public static <T, U> Parser<T> surrounding(final Parser<T> parser, final Parser<U> surrounding) {
@@ -163,11 +349,11 @@ public class Parsers {
     ) {
         return input -> {
             if (input.isEmpty()) {
-                return new Failure<>(emptyInputError.get());
+                return new Failure<>(emptyInputError.get(), input);
             }
             final char character = input.charAt(0);
             if (!matcher.test(character)) {
-                return new Failure<>(failureMessageMapper.apply(character));
+                return new Failure<>(failureMessageMapper.apply(character), input);
             }
 
             return new Success<>(character, input.substring(1));
@@ -175,28 +361,39 @@ public class Parsers {
     }
 
     public static Parser<Character> character(final Character expectedCharacter) {
-        return characterSatisfies(expectedCharacter::equals,
-            c -> "Expected '" + expectedCharacter + "' but got '" + c + "'",
-            () -> "Expected '" + expectedCharacter + "' but got empty input"
-        );
+        return expectedCharacter < CACHED_CHARACTER_RANGE
+            ? CHARACTERS.get(expectedCharacter)
+            : newCharacter(expectedCharacter);
     }
 
     public static Parser<Character> notCharacter(final Character excludedCharacter) {
-        return characterSatisfies(Predicate.not(excludedCharacter::equals),
-            c -> "Expected any character except '" + excludedCharacter + "' but got it",
-            () -> "Expected any character except '" + excludedCharacter + "' but got empty input"
-        );
+        return excludedCharacter < CACHED_CHARACTER_RANGE
+            ? NOT_CHARACTERS.get(excludedCharacter)
+            : newNotCharacter(excludedCharacter);
     }
 
     public static Parser<String> characterAsString(final Character expectedCharacter) {
         return map(Objects::toString, character(expectedCharacter));
     }
 
+    /**
+     * Matches any character contained in {@code characters}.
+     *
+     * <p>Lists of up to 64 non-null characters are cached by their contents, so equal lists share one parser which
+     * does not observe later changes to {@code characters}. Other lists get a new parser reading the caller's list.
+     */
     public static Parser<Character> anyCharacterFrom(final List<Character> characters) {
-        return characterSatisfies(characters::contains,
-            c -> "Expected one of " + characters + " but got '" + c + "'",
-            () -> "Expected one of " + characters + " but got empty input"
-        );
+        if (characters.size() > MAX_CACHED_KEY_LENGTH) {
+            return newAnyCharacterFrom(characters);
+        }
+        final StringBuilder key = new StringBuilder(characters.size());
+        for (Character character : characters) {
+            if (character == null) {
+                return newAnyCharacterFrom(characters);
+            }
+            key.append(character.charValue());
+        }
+        return cached(CHARACTER_CLASSES, key.toString(), Parsers::newCharacterClass);
     }
 
     public static Parser<String> untilCharacter(final Character character) {
@@ -206,13 +403,50 @@ public class Parsers {
     }
 
     public static Parser<Character> whitespaceCharacter() {
-        return characterSatisfies(Character::isWhitespace,
-            c -> "Expected a whitespace character but got '" + c + "'",
-            () -> "Expected a whitespace character but got empty input"
-        );
+        return WHITESPACE_CHARACTER;
     }
 
     public static Parser<String> string(final String string) {
+        if (string.length() > MAX_CACHED_KEY_LENGTH) {
+            return newString(string);
+        }
+        return cached(STRINGS, string, Parsers::newString);
+    }
+
+    public static Parser<Integer> anyInteger() {
+        return ANY_INTEGER;
+    }
+
+    public static Parser<String> noMoreInput() {
+        return NO_MORE_INPUT;
+    }
+
+    private static Parser<Character> newCharacter(final Character expectedCharacter) {
+        return characterSatisfies(expectedCharacter::equals,
+            c -> "Expected '" + expectedCharacter + "' but got '" + c + "'",
+            () -> "Expected '" + expectedCharacter + "' but got empty input"
+        );
+    }
+
+    private static Parser<Character> newNotCharacter(final Character excludedCharacter) {
+        return characterSatisfies(Predicate.not(excludedCharacter::equals),
+            c -> "Expected any character except '" + excludedCharacter + "' but got it",
+            () -> "Expected any character except '" + excludedCharacter + "' but got empty input"
+        );
+    }
+
+    private static Parser<Character> newCharacterClass(final String characters) {
+        return newAnyCharacterFrom(characters.chars().mapToObj(c -> (char) c).toList());
+    }
+
+    private static Parser<Character> newAnyCharacterFrom(final List<Character> characters) {
+        return characterSatisfies(characters::contains,
+            c -> "Expected one of " + characters + " but got '" + c + "'",
+            () -> "Expected one of " + characters + " but got empty input"
+        );
+    }
+
+    private static Parser<String> newString(final String string) {
         return map(
             Utils::charsToString, transpose(
                 string.chars()
@@ -223,12 +457,10 @@ public class Parsers {
         );
     }
 
-    public static Parser<Integer> anyInteger() {
-        final List<Character> numerals = List.of('0', '1', '2', '3', '4', '5', '6', '7', '8', '9');
-
+    private static Parser<Integer> newAnyInteger() {
         final var signAndBody = concat(
             optional(character('-')),
-            or(characterAsString('0'), map(Utils::charsToString, many1(anyCharacterFrom(numerals))))
+            or(characterAsString('0'), map(Utils::charsToString, many1(anyCharacterFrom(NUMERALS))))
         );
         return map(pair -> {
             final int integer = Integer.parseInt(pair.right());
@@ -236,22 +468,40 @@ public class Parsers {
         }, signAndBody);
     }
 
-    public static Parser<String> noMoreInput() {
-        return input -> switch (input) {
-            case "" -> new Success<>("", input);
-            default -> new Failure<>("Expected end of string but was non-empty");
-        };
+    private static <K, V> V cached(final BoundedCache<K, V> cache, final K key, final Function<K, V> factory) {
+        final V existing = cache.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return cache.putIfAbsent(key, factory.apply(key));
     }
 
-    private static <T> Success<List<T>> parseZeroOrMore(final Parser<T> parser, final Success<T> success) {
-        final String remainingInput = success.remaining();
-        final Success<List<T>> result = switch (parser.parse(remainingInput)) {
-            case Success<T> success1 -> parseZeroOrMore(parser, success1);
-            case Failure<T> ignored -> new Success<>(emptyList(), remainingInput);
-        };
-        return new Success<>(Stream.concat(
-            Stream.of(success.match()),
-            result.match().stream()
-        ).toList(), result.remaining());
+    private static <T> Success<List<T>> parseZeroOrMore(final Parser<T> parser, final Success<T> first) {
+        final List<T> out = new ArrayList<>();
+        out.add(first.match());
+        String remaining = first.remaining();
+        while (parser.parse(remaining) instanceof Success<T> success
+            && success.remaining().length() < remaining.length()) {
+            out.add(success.match());
+            remaining = success.remaining();
+        }
+        return new Success<>(unmodifiableList(out), remaining);
+    }
+
+    private static <T, U> Success<List<T>> parseSeparated(
+        final Parser<T> parser,
+        final Parser<U> separator,
+        final Success<T> first
+    ) {
+        final List<T> out = new ArrayList<>();
+        out.add(first.match());
+        String remaining = first.remaining();
+        while (separator.parse(remaining) instanceof Success<U> separatorSuccess
+            && parser.parse(separatorSuccess.remaining()) instanceof Success<T> success
+            && success.remaining().length() < remaining.length()) {
+            out.add(success.match());
+            remaining = success.remaining();
+        }
+        return new Success<>(unmodifiableList(out), remaining);
     }
 }
@@ -0,0 +1,153 @@
+package org.parsercombinators.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Thread-safe cache bounded by the total weight of its keys, evicting the least recently used entries first.
+ *
+ * <p>Entries are spread over up to 16 independently locked segments, each holding an equal share of the weight, so
+ * lookups for different keys rarely contend. The segment count is chosen so that every segment can hold a key of
+ * {@code maximumEntryWeight}; keys heavier than that are never cached. Recency and eviction are tracked per segment,
+ * which makes the eviction order approximate across the cache as a whole. Caches too small to split use a single
+ * segment and are exact.
+ */
+public class BoundedCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final long MIN_SEGMENT_WEIGHT = 64;
+
+    private final ToLongFunction<? super K> weigher;
+    private final long maximumEntryWeight;
+    private final List<Segment<K, V>> segments;
+    private final int segmentMask;
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a single-segment cache, which admits any key weighing up to {@code maximumWeight}.
+     */
+    public BoundedCache(final long maximumWeight, final ToLongFunction<? super K> weigher) {
+        this(maximumWeight, weigher, maximumWeight);
+    }
+
+    public BoundedCache(final long maximumWeight, final ToLongFunction<? super K> weigher, final long maximumEntryWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("BoundedCache called with non-positive maximum weight " + maximumWeight);
+        }
+        if (maximumEntryWeight <= 0 || maximumEntryWeight > maximumWeight) {
+            throw new IllegalArgumentException("BoundedCache called with maximum entry weight " + maximumEntryWeight
+                + " outside [1, " + maximumWeight + "]");
+        }
+        final long segmentWeight = Math.max(MIN_SEGMENT_WEIGHT, maximumEntryWeight);
+        final int segmentCount = Integer.highestOneBit(Math.clamp(maximumWeight / segmentWeight, 1, MAX_SEGMENTS));
+        this.weigher = weigher;
+        this.maximumEntryWeight = maximumEntryWeight;
+        this.segments = IntStream.range(0, segmentCount)
+            .mapToObj(ignored -> new Segment<K, V>(maximumWeight / segmentCount))
+            .toList();
+        this.segmentMask = segmentCount - 1;
+    }
+
+    public V get(final K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final Node<V> node = segment.entries.get(key);
+            return node == null ? null : node.value();
+        }
+    }
+
+    /**
+     * Caches {@code value} unless {@code key} is already present, in which case the cached value is returned.
+     *
+     * <p>Keys heavier than {@code maximumEntryWeight} are not cached and {@code value} is returned as-is.
+     *
+     * @throws IllegalArgumentException if the weigher returns a negative weight
+     */
+    public V putIfAbsent(final K key, final V value) {
+        final long weight = weigher.applyAsLong(key);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weigher returned negative weight " + weight);
+        }
+        if (weight > maximumEntryWeight) {
+            return value;
+        }
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final Node<V> existing = segment.entries.get(key);
+            if (existing != null) {
+                return existing.value();
+            }
+            segment.entries.put(key, new Node<>(value, weight));
+            segment.weight += weight;
+            evictUntilWithinLimit(segment);
+            return value;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public long weight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                weight += segment.weight;
+            }
+        }
+        return weight;
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    private Segment<K, V> segmentFor(final K key) {
+        final int hash = key.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & segmentMask);
+    }
+
+    private void evictUntilWithinLimit(final Segment<K, V> segment) {
+        final Iterator<Map.Entry<K, Node<V>>> eldest = segment.entries.entrySet().iterator();
+        while (segment.weight > segment.maximumWeight && eldest.hasNext()) {
+            segment.weight -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Segment<K, V> {
+
+        private final long maximumWeight;
+        private final LinkedHashMap<K, Node<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        Segment(final long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+    }
+
+    private record Node<V>(V value, long weight) {}
+
+}
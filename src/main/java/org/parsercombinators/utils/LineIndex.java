@@ -0,0 +1,61 @@
+package org.parsercombinators.utils;
+
+import org.parsercombinators.data.Position;
+import org.parsercombinators.data.Span;
+import org.parsercombinators.data.result.Failure;
+
+import java.util.Arrays;
+
+/**
+ * Maps offsets in an input to 1-based line and column numbers.
+ *
+ * <p>The line starts are only scanned for on the first lookup, so building an index for input that parses
+ * successfully costs nothing beyond the allocation.
+ */
+public class LineIndex {
+
+    private final String input;
+    private int[] lineStarts;
+
+    public LineIndex(final String input) {
+        this.input = input;
+    }
+
+    public Position position(final int offset) {
+        if (offset < 0 || offset > input.length()) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " out of bounds for input of length " + input.length());
+        }
+        final int[] starts = lineStarts();
+        final int found = Arrays.binarySearch(starts, offset);
+        final int line = found >= 0 ? found : -found - 2;
+        return new Position(line + 1, offset - starts[line] + 1);
+    }
+
+    public Position position(final Failure<?> failure) {
+        return position(failure.offset(input));
+    }
+
+    public Position start(final Span<?> span) {
+        return position(span.start(input));
+    }
+
+    public Position end(final Span<?> span) {
+        return position(span.end(input));
+    }
+
+    private int[] lineStarts() {
+        if (lineStarts == null) {
+            int[] starts = new int[16];
+            int count = 1;
+            for (int i = input.indexOf('\n'); i >= 0; i = input.indexOf('\n', i + 1)) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+            lineStarts = Arrays.copyOf(starts, count);
+        }
+        return lineStarts;
+    }
+
+}
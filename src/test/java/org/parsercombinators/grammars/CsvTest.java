@@ -0,0 +1,192 @@
+package org.parsercombinators.grammars;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.result.Failure;
+import org.parsercombinators.data.result.Result;
+import org.parsercombinators.data.result.Success;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.parsercombinators.grammars.Csv.record;
+import static org.parsercombinators.grammars.Csv.records;
+
+class CsvTest {
+
+    private static final String SAMPLE = "id,name,quote\r\n"
+        + "1,alice,\"said \"\"hi\"\"\"\r\n"
+        + "2,,\"multi\nline, with comma\"\n"
+        + "3,bob,plain";
+
+    private static final List<List<String>> SAMPLE_ROWS = List.of(
+        List.of("id", "name", "quote"),
+        List.of("1", "alice", "said \"hi\""),
+        List.of("2", "", "multi\nline, with comma"),
+        List.of("3", "bob", "plain")
+    );
+
+    private record TestCase<T>(
+        String testName,
+        Parser<T> parser,
+        String input,
+        Result<T> expectedResult
+    ) {}
+
+    public static List<TestCase<?>> tests() {
+        final List<TestCase<?>> tests = List.of(
+            new TestCase<>(
+                "record",
+                record(),
+                "a,b,c\nd,e,f",
+                new Success<>(List.of("a", "b", "c"), "d,e,f")
+            ),
+            new TestCase<>(
+                "recordCrLf",
+                record(),
+                "a,b\r\nc",
+                new Success<>(List.of("a", "b"), "c")
+            ),
+            new TestCase<>(
+                "recordEmptyFields",
+                record(),
+                ",,",
+                new Success<>(List.of("", "", ""), "")
+            ),
+            new TestCase<>(
+                "recordQuoted",
+                record(),
+                "\"a,b\",\"\"\"c\"\"\"\n",
+                new Success<>(List.of("a,b", "\"c\""), "")
+            ),
+            new TestCase<>(
+                "recordDelimiter",
+                record(';'),
+                "a;b,c\n",
+                new Success<>(List.of("a", "b,c"), "")
+            ),
+            new TestCase<>(
+                "recordEmptyFailure",
+                record(),
+                "",
+                new Failure<>("Expected a CSV record but got empty input", "")
+            ),
+            new TestCase<>(
+                "recordUnterminatedQuoteFailure",
+                record(),
+                "a,\"bc",
+                new Failure<>("Expected '\"' but got empty input", "")
+            ),
+            new TestCase<>(
+                "recordTextAfterQuoteFailure",
+                record(),
+                "\"a\"b,c",
+                new Failure<>("Expected ',' or end of line but got 'b'", "b,c")
+            ),
+            new TestCase<>(
+                "records",
+                records(),
+                SAMPLE,
+                new Success<>(SAMPLE_ROWS, "")
+            ),
+            new TestCase<>(
+                "recordsTrailingNewline",
+                records(),
+                "a\nb\n",
+                new Success<>(List.of(List.of("a"), List.of("b")), "")
+            )
+        );
+        assertThat(tests.stream().map(TestCase::testName)).doesNotHaveDuplicates();
+
+        return tests;
+    }
+
+    @ParameterizedTest
+    @MethodSource("tests")
+    <T> void tests(final TestCase<T> testCase) {
+        final Result<T> result = testCase.parser.parse(testCase.input);
+        assertEquals(testCase.expectedResult, result, testCase.testName);
+    }
+
+    @Test
+    void forEachRowAcrossBufferBoundaries() throws IOException {
+        for (int bufferSize = 1; bufferSize <= SAMPLE.length() + 1; bufferSize++) {
+            final List<List<String>> rows = new ArrayList<>();
+            final long count = Csv.forEachRow(new StringReader(SAMPLE), ',', bufferSize, row -> rows.add(row.toList()));
+            assertEquals(SAMPLE_ROWS, rows, "buffer size " + bufferSize);
+            assertEquals(SAMPLE_ROWS.size(), count);
+        }
+    }
+
+    @Test
+    void rowFieldsAreViews() throws IOException {
+        Csv.forEachRow(new StringReader("\"x\"\"y\",z\n"), row -> {
+            assertEquals(2, row.size());
+            assertEquals("x\"y", row.field(0).toString());
+            assertEquals("z", row.get(1));
+        });
+    }
+
+    @Test
+    void rowsStream() {
+        try (Stream<Csv.Row> rows = Csv.rows(new StringReader(SAMPLE))) {
+            assertEquals(SAMPLE_ROWS, rows.map(Csv.Row::toList).toList());
+        }
+    }
+
+    @Test
+    void rowsStreamFailure() {
+        try (Stream<Csv.Row> rows = Csv.rows(new StringReader("a\n\"b"))) {
+            assertThatThrownBy(() -> rows.forEach(row -> { }))
+                .isInstanceOfSatisfying(CsvFormatException.class, exception -> {
+                    assertEquals("Expected '\"' but got empty input", exception.reason());
+                    assertEquals(2, exception.record());
+                    assertEquals(4, exception.offset());
+                })
+                .hasMessage("Expected '\"' but got empty input at record 2, offset 4");
+        }
+    }
+
+    @Test
+    void forEachRowFailureOffsetAcrossBufferRefills() {
+        final String input = "a,b\nc,d\n\"e\"x,f\n";
+        for (int bufferSize = 1; bufferSize <= input.length(); bufferSize++) {
+            final int size = bufferSize;
+            assertThatThrownBy(() -> Csv.forEachRow(new StringReader(input), ',', size, row -> { }))
+                .isInstanceOfSatisfying(CsvFormatException.class, exception -> {
+                    assertEquals(3, exception.record(), "buffer size " + size);
+                    assertEquals(11, exception.offset(), "buffer size " + size);
+                });
+        }
+    }
+
+    @Test
+    void readErrorsStayDistinctFromFormatErrors() {
+        final Reader failing = new Reader() {
+            @Override
+            public int read(final char[] buffer, final int offset, final int length) throws IOException {
+                throw new IOException("disk on fire");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (Stream<Csv.Row> rows = Csv.rows(failing)) {
+            assertThatThrownBy(() -> rows.forEach(row -> { }))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("disk on fire");
+        }
+    }
+
+}
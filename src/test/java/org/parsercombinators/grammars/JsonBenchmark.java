@@ -0,0 +1,161 @@
+package org.parsercombinators.grammars;
+
+import org.parsercombinators.data.Pair;
+import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.result.Result;
+import org.parsercombinators.data.result.Success;
+import org.parsercombinators.utils.Utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.parsercombinators.parsers.Parsers.anyInteger;
+import static org.parsercombinators.parsers.Parsers.anyOf;
+import static org.parsercombinators.parsers.Parsers.character;
+import static org.parsercombinators.parsers.Parsers.concat;
+import static org.parsercombinators.parsers.Parsers.foldLeft;
+import static org.parsercombinators.parsers.Parsers.foldRight;
+import static org.parsercombinators.parsers.Parsers.many;
+import static org.parsercombinators.parsers.Parsers.map;
+import static org.parsercombinators.parsers.Parsers.notCharacter;
+import static org.parsercombinators.parsers.Parsers.optional;
+import static org.parsercombinators.parsers.Parsers.pure;
+import static org.parsercombinators.parsers.Parsers.string;
+import static org.parsercombinators.parsers.Parsers.surrounding;
+import static org.parsercombinators.parsers.Parsers.whitespaceCharacter;
+
+/**
+ * Compares three JSON grammars on the same document.
+ *
+ * <ul>
+ *     <li>naive: assembled from the generic character-level combinators</li>
+ *     <li>combinators: {@link Json#combinatorValue()}, the same structure built from {@code sepBy},
+ *     {@code surrounding} and {@code count} over the tuned {@link Json#string()} and {@link Json#number()}</li>
+ *     <li>scanner: {@link Json#value()}, the hand-written scanner, as the performance target</li>
+ * </ul>
+ *
+ * <p>Not run by surefire; after {@code mvn test-compile} run it with
+ * {@code java -cp target/classes:target/test-classes org.parsercombinators.grammars.JsonBenchmark}.
+ */
+public class JsonBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1_000;
+
+    private static final Parser<Object> NAIVE_VALUE = naiveValue();
+
+    public static void main(final String[] args) {
+        final String document = sampleDocument(40);
+        final Object expected = ((Success<Object>) Json.value().parse(document)).match();
+        if (!expected.equals(((Success<Object>) NAIVE_VALUE.parse(document)).match())
+            || !expected.equals(((Success<Object>) Json.combinatorValue().parse(document)).match())) {
+            throw new IllegalStateException("Grammars disagree on the sample document");
+        }
+
+        System.out.printf("document: %d chars%n", document.length());
+        report("naive", NAIVE_VALUE, document);
+        report("combinators", Json.combinatorValue(), document);
+        report("scanner", Json.value(), document);
+    }
+
+    private static void report(final String name, final Parser<Object> parser, final String document) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parser.parse(document);
+        }
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        Result<Object> last = null;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            last = parser.parse(document);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        if (!(last instanceof Success<Object>)) {
+            throw new IllegalStateException(name + " failed to parse the sample document");
+        }
+
+        final double seconds = elapsed / 1e9;
+        System.out.printf("%s: %.2f MB/s, %.1f us/op, %d bytes allocated/op%n",
+            name,
+            (double) document.length() * MEASURED_ROUNDS / seconds / 1e6,
+            elapsed / 1e3 / MEASURED_ROUNDS,
+            allocated / MEASURED_ROUNDS
+        );
+    }
+
+    private static String sampleDocument(final int records) {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("{\"id\": ").append(i)
+                .append(", \"name\": \"user").append(i).append('"')
+                .append(", \"active\": ").append(i % 2 == 0)
+                .append(", \"scores\": [").append(i * 3).append(", ").append(-i).append(", 0]")
+                .append(", \"manager\": null}");
+        }
+        return builder.append(']').toString();
+    }
+
+    private static Parser<Object> naiveValue() {
+        final Parser<Object> recursiveValue = input -> NAIVE_VALUE.parse(input);
+        final Parser<String> naiveString = map(
+            Utils::charsToString, surrounding(many(notCharacter('"')), character('"'))
+        );
+
+        final Parser<List<Object>> array = surrounding(
+            map(JsonBenchmark::toList, optional(concat(recursiveValue, many(foldRight(token(','), recursiveValue))))),
+            token('['),
+            character(']')
+        );
+        final Parser<Pair<String, Object>> member = concat(foldLeft(token(naiveString), token(':')), recursiveValue);
+        final Parser<Map<String, Object>> object = surrounding(
+            map(JsonBenchmark::toMap, optional(concat(member, many(foldRight(token(','), member))))),
+            token('{'),
+            character('}')
+        );
+
+        return token(anyOf(List.of(
+            map(Object.class::cast, object),
+            map(Object.class::cast, array),
+            map(Object.class::cast, naiveString),
+            map(Integer::longValue, anyInteger()),
+            map(ignored -> Boolean.TRUE, string("true")),
+            map(ignored -> Boolean.FALSE, string("false")),
+            foldRight(string("null"), pure(null))
+        )));
+    }
+
+    private static <T> Parser<T> token(final Parser<T> parser) {
+        return surrounding(parser, many(whitespaceCharacter()));
+    }
+
+    private static Parser<Character> token(final char c) {
+        return token(character(c));
+    }
+
+    private static List<Object> toList(final Optional<Pair<Object, List<Object>>> elements) {
+        final List<Object> out = new ArrayList<>();
+        elements.ifPresent(pair -> {
+            out.add(pair.left());
+            out.addAll(pair.right());
+        });
+        return out;
+    }
+
+    private static Map<String, Object> toMap(final Optional<Pair<Pair<String, Object>, List<Pair<String, Object>>>> members) {
+        final Map<String, Object> out = new LinkedHashMap<>();
+        members.ifPresent(pair -> {
+            out.put(pair.left().left(), pair.left().right());
+            pair.right().forEach(member -> out.put(member.left(), member.right()));
+        });
+        return out;
+    }
+
+}
@@ -0,0 +1,228 @@
+package org.parsercombinators.grammars;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.result.Failure;
+import org.parsercombinators.data.result.Result;
+import org.parsercombinators.data.result.Success;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.parsercombinators.grammars.Json.combinatorDocument;
+import static org.parsercombinators.grammars.Json.combinatorValue;
+import static org.parsercombinators.grammars.Json.document;
+import static org.parsercombinators.grammars.Json.number;
+import static org.parsercombinators.grammars.Json.string;
+import static org.parsercombinators.grammars.Json.value;
+
+class JsonTest {
+
+    private record TestCase<T>(
+        String testName,
+        Parser<T> parser,
+        String input,
+        Result<T> expectedResult
+    ) {}
+
+    public static List<TestCase<?>> tests() {
+        final Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("b", List.of(1L, 2L));
+        nested.put("a", Map.of("c", true));
+        nested.put("d", null);
+
+        final List<TestCase<?>> tests = List.of(
+            new TestCase<>(
+                "string",
+                string(),
+                "\"hello\" rest",
+                new Success<>("hello", " rest")
+            ),
+            new TestCase<>(
+                "stringEscapes",
+                string(),
+                "\"a\\\"b\\\\c\\/d\\n\\t\\u0041\"",
+                new Success<>("a\"b\\c/d\n\tA", "")
+            ),
+            new TestCase<>(
+                "stringUnterminatedFailure",
+                string(),
+                "\"abc",
+                new Failure<>("Expected '\"' but got empty input", "")
+            ),
+            new TestCase<>(
+                "stringBadEscapeFailure",
+                string(),
+                "\"a\\qb\"",
+                new Failure<>("Expected an escape sequence but got '\\q'", "b\"")
+            ),
+            new TestCase<>(
+                "stringNotQuotedFailure",
+                string(),
+                "abc",
+                new Failure<>("Expected '\"' but got 'a'", "abc")
+            ),
+            new TestCase<>(
+                "numberInteger",
+                number(),
+                "-12345,",
+                new Success<>(-12345L, ",")
+            ),
+            new TestCase<>(
+                "numberLeadingZero",
+                number(),
+                "0123",
+                new Success<>(0L, "123")
+            ),
+            new TestCase<>(
+                "numberFraction",
+                number(),
+                "1.5e3]",
+                new Success<>(1500.0, "]")
+            ),
+            new TestCase<>(
+                "numberLongBoundary",
+                number(),
+                "9223372036854775807",
+                new Success<>(Long.MAX_VALUE, "")
+            ),
+            new TestCase<>(
+                "numberBigInteger",
+                number(),
+                "92233720368547758070",
+                new Success<>(new BigInteger("92233720368547758070"), "")
+            ),
+            new TestCase<>(
+                "numberMissingFractionFailure",
+                number(),
+                "1.e5",
+                new Failure<>("Expected a digit but got 'e'", "e5")
+            ),
+            new TestCase<>(
+                "valueLiterals",
+                value(),
+                " [true, false, null] ",
+                new Success<>(Arrays.asList(true, false, null), "")
+            ),
+            new TestCase<>(
+                "valueEmptyContainers",
+                value(),
+                "[{}, []]",
+                new Success<>(List.of(emptyMap(), emptyList()), "")
+            ),
+            new TestCase<>(
+                "valueNested",
+                value(),
+                "{\"b\": [1, 2], \"a\": {\"c\": true}, \"d\": null}tail",
+                new Success<>(nested, "tail")
+            ),
+            new TestCase<>(
+                "valueEmptyFailure",
+                value(),
+                "   ",
+                new Failure<>("Expected a JSON value but got empty input", "")
+            ),
+            new TestCase<>(
+                "valueBadLiteralFailure",
+                value(),
+                "nul",
+                new Failure<>("Expected \"null\" but got 'n'", "nul")
+            ),
+            new TestCase<>(
+                "valueMissingCommaFailure",
+                value(),
+                "[1 2]",
+                new Failure<>("Expected ']' but got '2'", "2]")
+            ),
+            new TestCase<>(
+                "valueMissingColonFailure",
+                value(),
+                "{\"a\" 1}",
+                new Failure<>("Expected ':' but got '1'", "1}")
+            ),
+            new TestCase<>(
+                "document",
+                document(),
+                "{\"a\": [\"x\"]}\n",
+                new Success<>(Map.of("a", List.of("x")), "")
+            ),
+            new TestCase<>(
+                "documentTrailingInputFailure",
+                document(),
+                "{} {}",
+                new Failure<>("Expected end of string but was non-empty", "{}")
+            )
+        );
+        assertThat(tests.stream().map(TestCase::testName)).doesNotHaveDuplicates();
+
+        return tests;
+    }
+
+    @ParameterizedTest
+    @MethodSource("tests")
+    <T> void tests(final TestCase<T> testCase) {
+        final Result<T> result = testCase.parser.parse(testCase.input);
+        assertEquals(testCase.expectedResult, result, testCase.testName);
+    }
+
+    @Test
+    void deepNestingFails() {
+        final String input = "[".repeat(50_000) + "]".repeat(50_000);
+        assertEquals(
+            new Failure<>("Expected nesting depth of at most 1000 but got deeper", input.substring(1000)),
+            value().parse(input)
+        );
+    }
+
+    @Test
+    void nestingUpToLimitSucceeds() {
+        final String input = "[".repeat(1000) + "]".repeat(1000);
+        assertThat(value().parse(input)).isInstanceOf(Success.class);
+    }
+
+    @Test
+    void combinatorGrammarMatchesScanner() {
+        final List<String> documents = List.of(
+            "{\"b\": [1, 2], \"a\": {\"c\": true}, \"d\": null}",
+            " [ ] ",
+            "{}",
+            "[\"a\\\"b\\u0041\", -1.5e3, 12345678901234567890, false]",
+            "{\"a\": 1, \"a\": 2}"
+        );
+        for (String document : documents) {
+            assertEquals(document().parse(document), combinatorDocument().parse(document), document);
+        }
+    }
+
+    @Test
+    void combinatorGrammarFailures() {
+        assertThat(combinatorDocument().parse("[1, 2,]")).isInstanceOf(Failure.class);
+        assertThat(combinatorDocument().parse("{\"a\" 1}")).isInstanceOf(Failure.class);
+        assertEquals(new Success<>(List.of(1L), "x"), combinatorValue().parse("[1] x"));
+    }
+
+    @Test
+    void combinatorDeepNestingFails() {
+        final String input = "[".repeat(50_000) + "]".repeat(50_000);
+        assertThat(combinatorValue().parse(input)).isInstanceOf(Failure.class);
+        assertThat(combinatorValue().parse("[".repeat(64) + "]".repeat(64))).isInstanceOf(Success.class);
+    }
+
+    @Test
+    void containersAreUnmodifiable() {
+        final Map<?, ?> object = (Map<?, ?>) ((Success<Object>) value().parse("{\"a\": [1]}")).match();
+        assertThatThrownBy(() -> object.remove("a")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> ((List<?>) object.get("a")).clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+}
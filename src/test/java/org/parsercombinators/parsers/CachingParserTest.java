@@ -0,0 +1,176 @@
+package org.parsercombinators.parsers;
+
+import org.junit.jupiter.api.Test;
+import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.result.Failure;
+import org.parsercombinators.data.result.Result;
+import org.parsercombinators.data.result.Success;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.parsercombinators.parsers.Parsers.anyInteger;
+
+class CachingParserTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Parser<Integer> counted = input -> {
+        calls.incrementAndGet();
+        return anyInteger().parse(input);
+    };
+
+    @Test
+    void repeatedInputIsServedFromCache() {
+        final CachingParser<Integer> parser = CachingParser.bySize(counted, 10);
+        final Result<Integer> first = parser.parse("42abc");
+        final Result<Integer> second = parser.parse("42abc");
+
+        assertEquals(new Success<>(42, "abc"), first);
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(new CachingParser.Stats(1, 1, 0, 1, 1), parser.stats());
+    }
+
+    @Test
+    void failuresAreCached() {
+        final CachingParser<Integer> parser = CachingParser.bySize(counted, 10);
+        parser.parse("x");
+        final Result<Integer> result = parser.parse("x");
+
+        assertEquals(new Failure<>("Expected one of [0, 1, 2, 3, 4, 5, 6, 7, 8, 9] but got 'x'", "x"), result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        final CachingParser<Integer> parser = CachingParser.bySize(counted, 2);
+        parser.parse("1");
+        parser.parse("2");
+        parser.parse("1");
+        parser.parse("3");
+        parser.parse("1");
+        parser.parse("2");
+
+        assertEquals(4, calls.get());
+        assertEquals(new CachingParser.Stats(2, 4, 2, 2, 2), parser.stats());
+    }
+
+    @Test
+    void weightLimitBoundsCachedCharacters() {
+        final CachingParser<Integer> parser = CachingParser.byInputLength(counted, 6);
+        parser.parse("123");
+        parser.parse("4567");
+        parser.parse("89101112");
+
+        assertEquals(new CachingParser.Stats(0, 3, 1, 1, 4), parser.stats());
+    }
+
+    @Test
+    void inputsUpToWeightLimitAreCachedAcrossSegments() {
+        final CachingParser<Integer> parser = CachingParser.byInputLength(counted, 1000);
+        final String input = "1".repeat(9) + "x".repeat(191);
+        parser.parse(input);
+        parser.parse(input);
+        parser.parse(input);
+
+        assertEquals(1, calls.get());
+        assertEquals(new CachingParser.Stats(2, 1, 0, 1, 200), parser.stats());
+    }
+
+    @Test
+    void cappedInputLengthAllowsSegmentsAndStillCaches() {
+        final CachingParser<Integer> parser = CachingParser.byInputLength(counted, 100_000, 500);
+        for (int i = 0; i < 200; i++) {
+            final String input = i + "x".repeat(400);
+            parser.parse(input);
+            parser.parse(input);
+        }
+
+        assertEquals(200, calls.get());
+        final CachingParser.Stats stats = parser.stats();
+        assertEquals(200, stats.hits());
+        assertEquals(200, stats.size() + stats.evictions());
+    }
+
+    @Test
+    void longInputsBypassCache() {
+        final CachingParser<Integer> parser = CachingParser.bySize(counted, 10, 3);
+        parser.parse("12345");
+        parser.parse("12345");
+
+        assertEquals(2, calls.get());
+        assertEquals(new CachingParser.Stats(0, 0, 0, 0, 0), parser.stats());
+    }
+
+    @Test
+    void clearEmptiesCache() {
+        final CachingParser<Integer> parser = CachingParser.bySize(counted, 10);
+        parser.parse("1");
+        parser.clear();
+        parser.parse("1");
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void concurrentParsesAgreeAndStayBounded() throws InterruptedException {
+        final int threads = 8;
+        final int parsesPerThread = 20_000;
+        final CachingParser<Integer> parser = CachingParser.bySize(counted, 256);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Callable<Boolean>> tasks = IntStream.range(0, threads)
+            .<Callable<Boolean>>mapToObj(thread -> () -> {
+                final Random random = new Random(thread);
+                for (int i = 0; i < parsesPerThread; i++) {
+                    final int value = random.nextInt(1024);
+                    if (!new Success<>(value, "").equals(parser.parse(Integer.toString(value)))) {
+                        return false;
+                    }
+                }
+                return true;
+            })
+            .toList();
+        try {
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                assertTrue(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new AssertionError(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        final CachingParser.Stats stats = parser.stats();
+        assertEquals((long) threads * parsesPerThread, stats.hits() + stats.misses());
+        assertEquals(stats.misses(), calls.get());
+        assertTrue(stats.hits() > 0);
+        assertTrue(stats.size() <= 256);
+        assertEquals(stats.size(), stats.weight());
+    }
+
+    @Test
+    void negativeWeightIsRejected() {
+        final CachingParser<Integer> parser = new CachingParser<>(counted, 10, ignored -> -1, Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> parser.parse("1")).isInstanceOf(IllegalArgumentException.class);
+        assertEquals(0, parser.stats().weight());
+    }
+
+    @Test
+    void invalidLimits() {
+        assertThatThrownBy(() -> CachingParser.bySize(counted, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CachingParser.bySize(counted, 1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -1,42 +1,60 @@
 package org.parsercombinators.parsers;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.parsercombinators.data.Pair;
 import org.parsercombinators.data.Parser;
+import org.parsercombinators.data.Span;
 import org.parsercombinators.data.result.Failure;
 import org.parsercombinators.data.result.Result;
 import org.parsercombinators.data.result.Success;
 import org.parsercombinators.utils.Utils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.parsercombinators.parsers.Parsers.and;
 import static org.parsercombinators.parsers.Parsers.anyCharacterFrom;
 import static org.parsercombinators.parsers.Parsers.anyInteger;
 import static org.parsercombinators.parsers.Parsers.anyOf;
+import static org.parsercombinators.parsers.Parsers.between;
 import static org.parsercombinators.parsers.Parsers.character;
 import static org.parsercombinators.parsers.Parsers.characterAsString;
 import static org.parsercombinators.parsers.Parsers.concat;
+import static org.parsercombinators.parsers.Parsers.count;
+import static org.parsercombinators.parsers.Parsers.endBy;
 import static org.parsercombinators.parsers.Parsers.foldLeft;
 import static org.parsercombinators.parsers.Parsers.foldRight;
 import static org.parsercombinators.parsers.Parsers.many;
 import static org.parsercombinators.parsers.Parsers.many1;
+import static org.parsercombinators.parsers.Parsers.manyFold;
+import static org.parsercombinators.parsers.Parsers.manyInto;
+import static org.parsercombinators.parsers.Parsers.manyTill;
 import static org.parsercombinators.parsers.Parsers.map;
 import static org.parsercombinators.parsers.Parsers.nTimes;
 import static org.parsercombinators.parsers.Parsers.not;
 import static org.parsercombinators.parsers.Parsers.notCharacter;
 import static org.parsercombinators.parsers.Parsers.optional;
 import static org.parsercombinators.parsers.Parsers.or;
+import static org.parsercombinators.parsers.Parsers.pure;
+import static org.parsercombinators.parsers.Parsers.sepBy;
+import static org.parsercombinators.parsers.Parsers.sepBy1;
 import static org.parsercombinators.parsers.Parsers.string;
 import static org.parsercombinators.parsers.Parsers.surrounding;
 import static org.parsercombinators.parsers.Parsers.transpose;
 import static org.parsercombinators.parsers.Parsers.untilCharacter;
 import static org.parsercombinators.parsers.Parsers.whitespaceCharacter;
+import static org.parsercombinators.parsers.Parsers.withSpan;
 import static org.parsercombinators.parsers.Parsers.noMoreInput;
 
 class ParsersTest {
@@ -60,7 +78,7 @@ class ParsersTest {
                 "concatCharactersFailure",
                 foldRight(character('a'), character('b')),
                 "a",
-                new Failure<>("Expected 'b' but got empty input")
+                new Failure<>("Expected 'b' but got empty input", "")
             ),
             new TestCase<>(
                 "concatEmitPairCharacters",
@@ -72,7 +90,7 @@ class ParsersTest {
                 "concatEmitPairCharactersFailure",
                 concat(character('a'), character('b')),
                 "a",
-                new Failure<>("Expected 'b' but got empty input")
+                new Failure<>("Expected 'b' but got empty input", "")
             ),
             new TestCase<>(
                 "orCharactersA",
@@ -90,7 +108,7 @@ class ParsersTest {
                 "orCharactersFailure",
                 or(character('a'), character('b')),
                 "cccc",
-                new Failure<>("Expected 'b' but got 'c'")
+                new Failure<>("Expected 'b' but got 'c'", "cccc")
             ),
             new TestCase<>(
                 "optional",
@@ -126,13 +144,13 @@ class ParsersTest {
                 "notCombinatorCharactersFailure",
                 not(character('a'), c -> "Expected not 'a' but got 'a'"),
                 "aaaa",
-                new Failure<>("Expected not 'a' but got 'a'")
+                new Failure<>("Expected not 'a' but got 'a'", "aaaa")
             ),
             new TestCase<>(
                 "andCharactersFailure",
                 and(character('a'), character('b')),
                 "aaaa",
-                new Failure<>("Expected 'b' but got 'a'")
+                new Failure<>("Expected 'b' but got 'a'", "aaaa")
             ),
             new TestCase<>(
                 "anyOfCharactersA",
@@ -150,7 +168,7 @@ class ParsersTest {
                 "anyOfCharactersFailure",
                 anyOf(List.of(character('a'), character('b'))),
                 "caaa",
-                new Failure<>("Expected 'b' but got 'c'")
+                new Failure<>("Expected 'b' but got 'c'", "caaa")
             ),
             new TestCase<>(
                 "transposeCharacters",
@@ -162,13 +180,13 @@ class ParsersTest {
                 "transposeCharactersFailure",
                 transpose(List.of(character('a'), character('b'))),
                 "acaa",
-                new Failure<>("Expected 'b' but got 'c'")
+                new Failure<>("Expected 'b' but got 'c'", "caa")
             ),
             new TestCase<>(
                 "transposeCharactersEmptyFailure",
                 transpose(List.of(character('a'), character('b'))),
                 "",
-                new Failure<>("Expected 'a' but got empty input")
+                new Failure<>("Expected 'a' but got empty input", "")
             ),
             new TestCase<>(
                 "mapCharactersToNumeric",
@@ -180,7 +198,7 @@ class ParsersTest {
                 "mapCharactersToNumericFailure",
                 map(Character::getNumericValue, character('a')),
                 "bbbb",
-                new Failure<>("Expected 'a' but got 'b'")
+                new Failure<>("Expected 'a' but got 'b'", "bbbb")
             ),
             new TestCase<>(
                 "manyCharactersAll",
@@ -216,7 +234,43 @@ class ParsersTest {
                 "many1CharactersEmptyFailure",
                 many1(character('a')),
                 "",
-                new Failure<>("Expected 'a' but got empty input")
+                new Failure<>("Expected 'a' but got empty input", "")
+            ),
+            new TestCase<>(
+                "manyFoldSum",
+                manyFold(foldLeft(anyInteger(), character(',')), 0, Integer::sum),
+                "1,2,3,x",
+                new Success<>(6, "x")
+            ),
+            new TestCase<>(
+                "manyFoldEmpty",
+                manyFold(character('a'), "", (acc, c) -> acc + c),
+                "bbb",
+                new Success<>("", "bbb")
+            ),
+            new TestCase<>(
+                "manyIntoCounts",
+                manyInto(anyCharacterFrom(List.of('a', 'b')), Collectors.groupingBy(c -> c, Collectors.counting())),
+                "abaac",
+                new Success<>(Map.of('a', 3L, 'b', 1L), "c")
+            ),
+            new TestCase<>(
+                "manyIntoJoining",
+                manyInto(map(String::valueOf, notCharacter(';')), Collectors.joining()),
+                "key;",
+                new Success<>("key", ";")
+            ),
+            new TestCase<>(
+                "countCharacters",
+                count(character('a')),
+                "aaaab",
+                new Success<>(4L, "b")
+            ),
+            new TestCase<>(
+                "countEmpty",
+                count(character('a')),
+                "",
+                new Success<>(0L, "")
             ),
             new TestCase<>(
                 "nTimesCharacters",
@@ -228,13 +282,121 @@ class ParsersTest {
                 "nTimesCharactersShortFailure",
                 nTimes(character('a'), 5),
                 "aaa",
-                new Failure<>("Expected 'a' but got empty input")
+                new Failure<>("Expected 'a' but got empty input", "")
             ),
             new TestCase<>(
                 "nTimesCharactersWrongCharacterFailure",
                 nTimes(character('a'), 5),
                 "aaabbb",
-                new Failure<>("Expected 'a' but got 'b'")
+                new Failure<>("Expected 'a' but got 'b'", "bbb")
+            ),
+            new TestCase<>(
+                "nTimesZero",
+                nTimes(character('a'), 0),
+                "aaa",
+                new Success<>(emptyList(), "aaa")
+            ),
+            new TestCase<>(
+                "nTimesHugeCountFailure",
+                nTimes(character('a'), 1_500_000_000),
+                "b",
+                new Failure<>("Expected 'a' but got 'b'", "b")
+            ),
+            new TestCase<>(
+                "betweenCharactersUpToMax",
+                between(character('a'), 1, 3),
+                "aaaaa",
+                new Success<>(List.of('a', 'a', 'a'), "aa")
+            ),
+            new TestCase<>(
+                "betweenCharactersAboveMin",
+                between(character('a'), 1, 3),
+                "aabb",
+                new Success<>(List.of('a', 'a'), "bb")
+            ),
+            new TestCase<>(
+                "betweenCharactersBelowMinFailure",
+                between(character('a'), 2, 3),
+                "abb",
+                new Failure<>("Expected 'a' but got 'b'", "bb")
+            ),
+            new TestCase<>(
+                "betweenHugeMinFailure",
+                between(character('a'), 1_500_000_000, Integer.MAX_VALUE),
+                "b",
+                new Failure<>("Expected 'a' but got 'b'", "b")
+            ),
+            new TestCase<>(
+                "betweenStopsWithoutProgress",
+                between(pure('x'), 0, Integer.MAX_VALUE),
+                "abc",
+                new Success<>(emptyList(), "abc")
+            ),
+            new TestCase<>(
+                "betweenWithoutProgressReachesMin",
+                between(pure('x'), 2, Integer.MAX_VALUE),
+                "abc",
+                new Success<>(List.of('x', 'x'), "abc")
+            ),
+            new TestCase<>(
+                "sepByIntegers",
+                sepBy(anyInteger(), character(',')),
+                "1,-2,3;",
+                new Success<>(List.of(1, -2, 3), ";")
+            ),
+            new TestCase<>(
+                "sepByTrailingSeparator",
+                sepBy(anyInteger(), character(',')),
+                "1,2,x",
+                new Success<>(List.of(1, 2), ",x")
+            ),
+            new TestCase<>(
+                "sepByEmpty",
+                sepBy(anyInteger(), character(',')),
+                "x",
+                new Success<>(emptyList(), "x")
+            ),
+            new TestCase<>(
+                "sepBy1Integers",
+                sepBy1(anyInteger(), character(',')),
+                "7,8",
+                new Success<>(List.of(7, 8), "")
+            ),
+            new TestCase<>(
+                "sepBy1EmptyFailure",
+                sepBy1(character('a'), character(',')),
+                "b",
+                new Failure<>("Expected 'a' but got 'b'", "b")
+            ),
+            new TestCase<>(
+                "endByIntegers",
+                endBy(anyInteger(), character(';')),
+                "1;2;3x",
+                new Success<>(List.of(1, 2), "3x")
+            ),
+            new TestCase<>(
+                "endByEmpty",
+                endBy(anyInteger(), character(';')),
+                "x",
+                new Success<>(emptyList(), "x")
+            ),
+            new TestCase<>(
+                "manyTillCharacters",
+                manyTill(notCharacter('\n'), string("-->")),
+                "abc-->rest",
+                new Success<>(List.of('a', 'b', 'c'), "rest")
+            ),
+            new TestCase<>(
+                "manyTillImmediateEnd",
+                manyTill(character('a'), character(';')),
+                ";a",
+                new Success<>(emptyList(), "a")
+            ),
+            new TestCase<>(
+                "manyTillFailure",
+                manyTill(character('a'), character(';')),
+                "aab;",
+                new Failure<>("Expected 'a' but got 'b'", "b;")
             ),
             new TestCase<>(
                 "noEmitRightCharacters",
@@ -246,7 +408,7 @@ class ParsersTest {
                 "noEmitRightCharactersFailure",
                 foldLeft(character('a'), character('b')),
                 "acabab",
-                new Failure<>("Expected 'b' but got 'c'")
+                new Failure<>("Expected 'b' but got 'c'", "cabab")
             ),
             new TestCase<>(
                 "noEmitSurroundingCharacters",
@@ -258,7 +420,7 @@ class ParsersTest {
                 "noEmitSurroundingCharactersFailure",
                 surrounding(character('a'), character('"')),
                 "a\"abab",
-                new Failure<>("Expected '\"' but got 'a'")
+                new Failure<>("Expected '\"' but got 'a'", "a\"abab")
             ),
             new TestCase<>(
                 "noEmitSurroundingOverloadCharacters",
@@ -270,7 +432,7 @@ class ParsersTest {
                 "noEmitSurroundingOverloadCharactersFailure",
                 surrounding(character('a'), character('<'), character('>')),
                 ">a>abab",
-                new Failure<>("Expected '<' but got '>'")
+                new Failure<>("Expected '<' but got '>'", ">a>abab")
             ),
             new TestCase<>(
                 "character",
@@ -282,7 +444,7 @@ class ParsersTest {
                 "characterFailure",
                 character('a'),
                 "b",
-                new Failure<>("Expected 'a' but got 'b'")
+                new Failure<>("Expected 'a' but got 'b'", "b")
             ),
             new TestCase<>(
                 "notCharacter",
@@ -294,13 +456,13 @@ class ParsersTest {
                 "notCharacterFailure",
                 notCharacter('a'),
                 "abcde",
-                new Failure<>("Expected any character except 'a' but got it")
+                new Failure<>("Expected any character except 'a' but got it", "abcde")
             ),
             new TestCase<>(
                 "notCharacterFailureEmpty",
                 notCharacter('a'),
                 "",
-                new Failure<>("Expected any character except 'a' but got empty input")
+                new Failure<>("Expected any character except 'a' but got empty input", "")
             ),
             new TestCase<>(
                 "characterAsString",
@@ -312,7 +474,7 @@ class ParsersTest {
                 "characterAsStringFailure",
                 characterAsString('a'),
                 "cbab",
-                new Failure<>("Expected 'a' but got 'c'")
+                new Failure<>("Expected 'a' but got 'c'", "cbab")
             ),
             new TestCase<>(
                 "anyCharacterFrom",
@@ -324,13 +486,13 @@ class ParsersTest {
                 "anyCharacterFromFailure",
                 anyCharacterFrom(List.of('a', 'b', 'c')),
                 "daaaa",
-                new Failure<>("Expected one of [a, b, c] but got 'd'")
+                new Failure<>("Expected one of [a, b, c] but got 'd'", "daaaa")
             ),
             new TestCase<>(
                 "anyCharacterFromEmptyFailure",
                 anyCharacterFrom(List.of('a', 'b', 'c')),
                 "",
-                new Failure<>("Expected one of [a, b, c] but got empty input")
+                new Failure<>("Expected one of [a, b, c] but got empty input", "")
             ),
             new TestCase<>(
                 "string",
@@ -348,7 +510,7 @@ class ParsersTest {
                 "stringFailure",
                 string("ababab"),
                 "abcabcabc",
-                new Failure<>("Expected 'a' but got 'c'")
+                new Failure<>("Expected 'a' but got 'c'", "cabcabc")
             ),
             new TestCase<>(
                 "untilCharacter",
@@ -360,7 +522,7 @@ class ParsersTest {
                 "untilCharacterFailure",
                 untilCharacter('\n'),
                 "some long string then",
-                new Failure<>("Expected '\n' but got empty input")
+                new Failure<>("Expected '\n' but got empty input", "")
             ),
             new TestCase<>(
                 "whitespaceCharacter",
@@ -372,13 +534,13 @@ class ParsersTest {
                 "whitespaceCharacterFailure",
                 whitespaceCharacter(),
                 "ab",
-                new Failure<>("Expected a whitespace character but got 'a'")
+                new Failure<>("Expected a whitespace character but got 'a'", "ab")
             ),
             new TestCase<>(
                 "whitespaceCharacterFailureEmpty",
                 whitespaceCharacter(),
                 "",
-                new Failure<>("Expected a whitespace character but got empty input")
+                new Failure<>("Expected a whitespace character but got empty input", "")
             ),
             new TestCase<>(
                 "manyWhitespace",
@@ -410,6 +572,18 @@ class ParsersTest {
                 "\"54321\"asdf",
                 new Success<>(54321, "asdf")
             ),
+            new TestCase<>(
+                "withSpan",
+                foldRight(character('x'), withSpan(string("ab"))),
+                "xabc",
+                new Success<>(new Span<>("ab", 3, 1), "c")
+            ),
+            new TestCase<>(
+                "withSpanFailure",
+                withSpan(string("ab")),
+                "acd",
+                new Failure<>("Expected 'b' but got 'c'", "cd")
+            ),
             new TestCase<>(
                 "noMoreInput",
                 noMoreInput(),
@@ -420,7 +594,7 @@ class ParsersTest {
                 "noMoreInputFailure",
                 noMoreInput(),
                 "hello",
-                new Failure<>("Expected end of string but was non-empty")
+                new Failure<>("Expected end of string but was non-empty", "hello")
             )
         );
         assertThat(tests.stream().map(TestCase::testName)).doesNotHaveDuplicates();
@@ -435,4 +609,50 @@ class ParsersTest {
         assertEquals(testCase.expectedResult, result, testCase.testName);
     }
 
+    @Test
+    void sharedParserInstances() {
+        assertSame(character('a'), character('a'));
+        assertSame(notCharacter('\n'), notCharacter('\n'));
+        assertSame(string("null"), string("null"));
+        assertSame(anyCharacterFrom(List.of('x', 'y')), anyCharacterFrom(List.of('x', 'y')));
+        assertSame(anyCharacterFrom(List.of('x', 'y')), anyCharacterFrom(new ArrayList<>(List.of('x', 'y'))));
+        assertSame(whitespaceCharacter(), whitespaceCharacter());
+        assertSame(anyInteger(), anyInteger());
+        assertSame(noMoreInput(), noMoreInput());
+        assertNotSame(character('a'), character('b'));
+    }
+
+    @Test
+    void uncachedParserInstances() {
+        final String longString = "x".repeat(65);
+        assertNotSame(string(longString), string(longString));
+        assertEquals(new Success<>(longString, ""), string(longString).parse(longString));
+
+        final List<Character> longClass = "x".repeat(65).chars().mapToObj(c -> (char) c).toList();
+        assertNotSame(anyCharacterFrom(longClass), anyCharacterFrom(longClass));
+    }
+
+    @Test
+    void cachedCharacterClassIgnoresLaterChanges() {
+        final List<Character> characters = new ArrayList<>(List.of('p', 'q'));
+        final Parser<Character> parser = anyCharacterFrom(characters);
+        characters.set(0, 'r');
+
+        assertEquals(new Success<>('p', ""), parser.parse("p"));
+        assertEquals(new Failure<>("Expected one of [p, q] but got 'r'", "r"), parser.parse("r"));
+    }
+
+    @Test
+    void anyCharacterFromAllowsNullElements() {
+        final Parser<Character> parser = anyCharacterFrom(Arrays.asList('a', null));
+        assertEquals(new Success<>('a', "b"), parser.parse("ab"));
+    }
+
+    @Test
+    void manyIntoStartsFreshContainerPerParse() {
+        final Parser<List<Character>> parser = manyInto(character('a'), Collectors.toList());
+        parser.parse("aa");
+        assertEquals(new Success<>(List.of('a'), ""), parser.parse("a"));
+    }
+
 }
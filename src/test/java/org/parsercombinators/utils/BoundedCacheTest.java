@@ -0,0 +1,100 @@
+package org.parsercombinators.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedCacheTest {
+
+    @Test
+    void putIfAbsentKeepsFirstValue() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10, ignored -> 1);
+
+        assertEquals(1, cache.putIfAbsent("a", 1));
+        assertEquals(1, cache.putIfAbsent("a", 2));
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(2, ignored -> 1);
+        cache.putIfAbsent("a", 1);
+        cache.putIfAbsent("b", 2);
+        cache.get("a");
+        cache.putIfAbsent("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void weightBoundsEntries() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(6, String::length);
+        cache.putIfAbsent("abc", "abc");
+        cache.putIfAbsent("defg", "defg");
+        cache.putIfAbsent("too long", "too long");
+
+        assertNull(cache.get("abc"));
+        assertNull(cache.get("too long"));
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.weight());
+    }
+
+    @Test
+    void weightStaysBoundedAcrossSegments() {
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(1024, ignored -> 1, 1);
+        for (int i = 0; i < 10_000; i++) {
+            cache.putIfAbsent(i, i);
+        }
+
+        assertEquals(cache.size(), cache.weight());
+        assertEquals(10_000 - cache.size(), cache.evictionCount());
+        assertEquals(1024, cache.size(), 64);
+    }
+
+    @Test
+    void singleSegmentAdmitsEntriesUpToMaximumWeight() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(1000, String::length);
+        final String heavy = "x".repeat(1000);
+        cache.putIfAbsent(heavy, heavy);
+
+        assertEquals(heavy, cache.get(heavy));
+        assertEquals(1000, cache.weight());
+    }
+
+    @Test
+    void keysHeavierThanMaximumEntryWeightAreNotCached() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(4096, String::length, 100);
+        cache.putIfAbsent("x".repeat(100), "fits");
+        cache.putIfAbsent("x".repeat(101), "too heavy");
+
+        assertEquals("fits", cache.get("x".repeat(100)));
+        assertNull(cache.get("x".repeat(101)));
+    }
+
+    @Test
+    void clearEmptiesCache() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10, ignored -> 1);
+        cache.putIfAbsent("a", 1);
+        cache.clear();
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    void invalidWeights() {
+        assertThatThrownBy(() -> new BoundedCache<String, Integer>(0, ignored -> 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedCache<String, Integer>(10, ignored -> 1, 11)).isInstanceOf(IllegalArgumentException.class);
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10, ignored -> -1);
+        assertThatThrownBy(() -> cache.putIfAbsent("a", 1)).isInstanceOf(IllegalArgumentException.class);
+        assertEquals(0, cache.weight());
+    }
+
+}
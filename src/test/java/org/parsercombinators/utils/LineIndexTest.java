@@ -0,0 +1,69 @@
+package org.parsercombinators.utils;
+
+import org.junit.jupiter.api.Test;
+import org.parsercombinators.data.Position;
+import org.parsercombinators.data.Span;
+import org.parsercombinators.data.result.Failure;
+import org.parsercombinators.data.result.Result;
+import org.parsercombinators.data.result.Success;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.parsercombinators.parsers.Parsers.foldRight;
+import static org.parsercombinators.parsers.Parsers.many;
+import static org.parsercombinators.parsers.Parsers.notCharacter;
+import static org.parsercombinators.parsers.Parsers.string;
+import static org.parsercombinators.parsers.Parsers.withSpan;
+
+class LineIndexTest {
+
+    private static final String INPUT = "first\nsecond\r\n\nfourth";
+
+    @Test
+    void positions() {
+        final LineIndex index = new LineIndex(INPUT);
+        assertEquals(new Position(1, 1), index.position(0));
+        assertEquals(new Position(1, 6), index.position(5));
+        assertEquals(new Position(2, 1), index.position(6));
+        assertEquals(new Position(2, 8), index.position(13));
+        assertEquals(new Position(3, 1), index.position(14));
+        assertEquals(new Position(4, 1), index.position(15));
+        assertEquals(new Position(4, 7), index.position(INPUT.length()));
+    }
+
+    @Test
+    void positionOutOfBounds() {
+        final LineIndex index = new LineIndex(INPUT);
+        assertThatThrownBy(() -> index.position(INPUT.length() + 1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> index.position(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void failurePosition() {
+        final Result<String> result = foldRight(many(notCharacter('\n')), string("\nsecont")).parse(INPUT);
+        assertThat(result).isInstanceOf(Failure.class);
+        final Failure<String> failure = (Failure<String>) result;
+        assertEquals(11, failure.offset(INPUT));
+        assertEquals(new Position(2, 6), new LineIndex(INPUT).position(failure));
+    }
+
+    @Test
+    void spanPositions() {
+        final Result<Span<String>> result = foldRight(string("first\nsec"), withSpan(string("ond\r\n\nfo"))).parse(INPUT);
+        assertThat(result).isInstanceOf(Success.class);
+        final Span<String> span = ((Success<Span<String>>) result).match();
+        final LineIndex index = new LineIndex(INPUT);
+        assertEquals(9, span.start(INPUT));
+        assertEquals(17, span.end(INPUT));
+        assertEquals(8, span.length());
+        assertEquals(new Position(2, 4), index.start(span));
+        assertEquals(new Position(4, 3), index.end(span));
+    }
+
+    @Test
+    void emptyInput() {
+        assertEquals(new Position(1, 1), new LineIndex("").position(0));
+    }
+
+}